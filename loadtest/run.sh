@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# プラットフォームスレッドと仮想スレッドで同じ負荷試験を実行し、結果を loadtest/results/ に出力する
+# 前提: k6 がインストール済み、Java 21 以上（Java 17 では仮想スレッドの設定が無視され比較にならない）
+# 両モードのコネクションプールは同じ固定サイズ（POOL_SIZE、既定20）にそろえ、スレッドモデルだけを比較する
+set -euo pipefail
+
+POOL_SIZE=${POOL_SIZE:-20}
+
+java_major=$(java -version 2>&1 | sed -n 's/.*version "\([0-9]*\).*/\1/p' | head -n 1)
+if [ -z "$java_major" ] || [ "$java_major" -lt 21 ]; then
+    echo "Java 21 以上が必要です（検出: $(java -version 2>&1 | head -n 1)）" >&2
+    exit 1
+fi
+
+cd "$(dirname "$0")/.."
+JAR=target/spring-boot-task-manager-1.0.0.jar
+RESULTS=loadtest/results
+mkdir -p "$RESULTS"
+
+[ -f "$JAR" ] || mvn -B -q package -DskipTests
+
+for mode in platform virtual; do
+    profile=""
+    [ "$mode" = "virtual" ] && profile="--spring.profiles.active=virtual"
+
+    java -jar "$JAR" $profile --logging.level.root=WARN --logging.level.com.taskmanager=WARN \
+        --logging.level.org.hibernate.SQL=WARN --logging.level.org.springframework.web=WARN \
+        --spring.jpa.show-sql=false --taskmanager.rate-limit.enabled=false \
+        --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" --spring.datasource.hikari.minimum-idle="$POOL_SIZE" \
+        --spring.datasource.hikari.connection-timeout=2000 > "$RESULTS/$mode-app.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+
+    echo "== $mode =="
+    k6 run --summary-export "$RESULTS/$mode.json" "$@" loadtest/tasks-api.js | tee "$RESULTS/$mode.txt"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+done
+
+echo "結果: $RESULTS/platform.json, $RESULTS/virtual.json（http_req_duration の p(99) と http_reqs の rate を比較）"
@@ -0,0 +1,64 @@
+// k6 負荷試験スクリプト: /api/tasks と /api/stats のスループットとp99レイテンシを計測する
+// 実行例: k6 run -e BASE_URL=http://localhost:8080 -e SEED=10000 loadtest/tasks-api.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SEED = parseInt(__ENV.SEED || '10000');
+const VUS = parseInt(__ENV.VUS || '200');
+const DURATION = __ENV.DURATION || '60s';
+
+export const options = {
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    scenarios: {
+        list: {
+            executor: 'constant-vus',
+            exec: 'listTasks',
+            vus: VUS,
+            duration: DURATION,
+        },
+        stats: {
+            executor: 'constant-vus',
+            exec: 'getStats',
+            vus: Math.max(1, Math.floor(VUS / 4)),
+            duration: DURATION,
+        },
+    },
+};
+
+const PRIORITIES = ['LOW', 'MEDIUM', 'HIGH'];
+const CATEGORIES = ['仕事', '個人', '学習', '健康', '家事'];
+
+// 一括作成APIで試験データを投入
+export function setup() {
+    const batchSize = 1000;
+    for (let offset = 0; offset < SEED; offset += batchSize) {
+        const tasks = [];
+        for (let i = offset; i < Math.min(offset + batchSize, SEED); i++) {
+            tasks.push({
+                title: `負荷試験タスク ${i}`,
+                description: `負荷試験用に生成したタスク ${i}`,
+                priority: PRIORITIES[i % PRIORITIES.length],
+                category: CATEGORIES[i % CATEGORIES.length],
+                tags: `負荷試験,tag${i % 20}`,
+                completed: i % 3 === 0,
+            });
+        }
+        const res = http.post(`${BASE_URL}/api/tasks/batch`, JSON.stringify(tasks), {
+            headers: { 'Content-Type': 'application/json' },
+        });
+        check(res, { 'seeded': (r) => r.status === 200 });
+    }
+}
+
+export function listTasks() {
+    const category = CATEGORIES[Math.floor(Math.random() * CATEGORIES.length)];
+    const res = http.get(`${BASE_URL}/api/tasks/page?status=incomplete&category=${encodeURIComponent(category)}&size=50`,
+        { tags: { endpoint: 'tasks' } });
+    check(res, { 'tasks 200': (r) => r.status === 200 });
+}
+
+export function getStats() {
+    const res = http.get(`${BASE_URL}/api/stats`, { tags: { endpoint: 'stats' } });
+    check(res, { 'stats 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,108 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.Application;
+import com.taskmanager.config.TimeConfig;
+import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.entity.Task;
+import com.taskmanager.service.TaskBatchService;
+import com.taskmanager.service.TaskStatisticsCounter;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ベンチマーク用のアプリケーション起動とデータ投入
+ * Webサーバーなし・ログ抑制・独立したインメモリH2で起動し、指定件数のタスクを投入する
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] CATEGORIES = {"仕事", "個人", "学習", "健康", "家事"};
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(int datasetSize) {
+        ConfigurableApplicationContext context = run();
+        seed(context.getBean(TaskBatchService.class), datasetSize);
+        return context;
+    }
+
+    /**
+     * SQLで直接タスクを投入して起動（検索インデックス・イベントを経由しないため100万件規模の集計計測用）
+     */
+    public static ConfigurableApplicationContext startBulk(int datasetSize) {
+        ConfigurableApplicationContext context = run();
+        bulkInsert(context.getBean(JdbcTemplate.class), datasetSize);
+        context.getBean(TaskStatisticsCounter.class).reconcile();
+        return context;
+    }
+
+    private static ConfigurableApplicationContext run() {
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .listeners(new TimeConfig.TimeZoneInitializer())
+                // application.yml より優先させるためコマンドライン引数として渡す
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.flyway.locations=classpath:db/migration",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.taskmanager=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        // 一覧キャッシュを無効化し、データベースへのアクセス経路を計測する
+                        "--taskmanager.cache.task-lists=maximumSize=0");
+    }
+
+    private static void seed(TaskBatchService batchService, int datasetSize) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int offset = 0; offset < datasetSize; offset += TaskBatchService.MAX_BATCH_SIZE) {
+            List<TaskRequest> requests = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + TaskBatchService.MAX_BATCH_SIZE, datasetSize); i++) {
+                requests.add(request(i, now));
+            }
+            batchService.createTasks(requests);
+        }
+    }
+
+    // request(i, now) と同じ分布のタスクをINSERT ... SELECTで投入する
+    private static void bulkInsert(JdbcTemplate jdbcTemplate, int datasetSize) {
+        for (String category : CATEGORIES) {
+            jdbcTemplate.update("INSERT INTO categories (name) VALUES (?)", category);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(
+                "INSERT INTO tasks (id, title, description, completed, priority, category, tags, " +
+                "created_at, updated_at, due_date, version) " +
+                "SELECT X, CONCAT('ベンチマークタスク ', X), CONCAT('ベンチマーク用に生成したタスクの説明文です。番号は', X, 'です。'), " +
+                "MOD(X, 3) = 0, CASE MOD(X, 3) WHEN 0 THEN 'LOW' WHEN 1 THEN 'MEDIUM' ELSE 'HIGH' END, " +
+                "CASE MOD(X, 5) WHEN 0 THEN '仕事' WHEN 1 THEN '個人' WHEN 2 THEN '学習' WHEN 3 THEN '健康' ELSE '家事' END, " +
+                "CONCAT('ベンチマーク,tag', MOD(X, 20)), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), " +
+                "DATEADD(HOUR, MOD(X, 240) - 120, CAST(? AS TIMESTAMP)), 0 " +
+                "FROM SYSTEM_RANGE(0, CAST(? AS BIGINT))",
+                now, now, now, datasetSize - 1);
+        jdbcTemplate.update(
+                "UPDATE categories c SET task_count = (SELECT COUNT(*) FROM tasks t WHERE t.category = c.name), " +
+                "open_task_count = (SELECT COUNT(*) FROM tasks t WHERE t.category = c.name AND t.completed = FALSE)");
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (datasetSize + 1));
+    }
+
+    static TaskRequest request(int i, LocalDateTime now) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("ベンチマークタスク " + i);
+        request.setDescription("ベンチマーク用に生成したタスクの説明文です。番号は" + i + "です。");
+        request.setPriority(Task.Priority.values()[i % Task.Priority.values().length]);
+        request.setCategory(CATEGORIES[i % CATEGORIES.length]);
+        request.setTags("ベンチマーク,tag" + (i % 20));
+        request.setDueDate(now.plusHours((i % 240) - 120));
+        request.setCompleted(i % 3 == 0);
+        return request;
+    }
+}
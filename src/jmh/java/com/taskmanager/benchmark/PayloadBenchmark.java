@@ -0,0 +1,126 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.taskmanager.entity.Task;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * タスク一覧の応答形式ごとのペイロードサイズとシリアライズ／デシリアライズのCPU時間を比較するベンチマーク
+ * サイズは副次結果（bytes・bytesPerTask）としてスコアと同じ結果ファイルに出力する
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    public enum Format {
+        JSON, SMILE, CBOR
+    }
+
+    @Param({"1000", "10000"})
+    public int listSize;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public Format format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    /**
+     * ペイロードサイズ（JMHの副次結果。各呼び出しで同じ値を設定する）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+        public double bytesPerTask;
+
+        void record(byte[] payload, int listSize) {
+            bytes = payload.length;
+            bytesPerTask = (double) payload.length / listSize;
+        }
+    }
+
+    private ObjectMapper objectMapper;
+    private ObjectReader reader;
+    private List<Task> tasks;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // アプリケーションと同じくJackson2ObjectMapperBuilderの既定（JavaTimeModule、日時は文字列）で生成する
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case JSON -> Jackson2ObjectMapperBuilder.json();
+            case SMILE -> Jackson2ObjectMapperBuilder.smile();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor();
+        };
+        objectMapper = builder.build();
+        reader = objectMapper.readerForListOf(Task.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Task task = BenchmarkApplication.request(i, now).toEntity();
+            task.setId((long) i + 1);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setVersion(0L);
+            tasks.add(task);
+        }
+        payload = write();
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize size) throws IOException {
+        byte[] result = write();
+        size.record(result, listSize);
+        return result;
+    }
+
+    @Benchmark
+    public List<Task> deserialize(PayloadSize size) throws IOException {
+        size.record(payload, listSize);
+        try (InputStream in = gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(payload))
+                : new ByteArrayInputStream(payload)) {
+            return reader.readValue(in);
+        }
+    }
+
+    private byte[] write() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : buffer) {
+            objectMapper.writeValue(out, tasks);
+        }
+        return buffer.toByteArray();
+    }
+}
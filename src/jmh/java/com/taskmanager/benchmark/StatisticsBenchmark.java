@@ -0,0 +1,101 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * タスク統計の取得経路の比較
+ * legacy: 件数・完了/未完了・期限切れをエンティティの読み込みで数え、カテゴリ・優先度を別々に集計する従来の経路
+ * aggregate: 1回の集計クエリ（カウンター初期化前のフォールバック経路）
+ * counters: インメモリカウンターと期限切れの件数クエリ（通常の経路）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StatisticsBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startBulk(datasetSize);
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> legacy() {
+        Map<String, Object> stats = new HashMap<>();
+        long totalTasks = taskRepository.count();
+        long completedTasks = taskRepository.findByCompleted(true).size();
+        long incompleteTasks = taskRepository.findByCompleted(false).size();
+        long overdueTasks = taskRepository.findOverdueTasks(LocalDateTime.now()).size();
+        stats.put("totalTasks", totalTasks);
+        stats.put("completedTasks", completedTasks);
+        stats.put("incompleteTasks", incompleteTasks);
+        stats.put("overdueTasks", overdueTasks);
+        double completionRate = totalTasks > 0 ? (double) completedTasks / totalTasks * 100 : 0;
+        stats.put("completionRate", Math.round(completionRate * 100.0) / 100.0);
+
+        Map<String, Long> categoryStats = new HashMap<>();
+        for (Object[] result : taskRepository.getTaskCountByCategory()) {
+            categoryStats.put((String) result[0], (Long) result[1]);
+        }
+        stats.put("categoryStats", categoryStats);
+        Map<String, Long> priorityStats = new HashMap<>();
+        for (Object[] result : taskRepository.getTaskCountByPriority()) {
+            priorityStats.put(result[0].toString(), (Long) result[1]);
+        }
+        stats.put("priorityStats", priorityStats);
+        return stats;
+    }
+
+    @Benchmark
+    public Map<String, Long> aggregate() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : taskRepository.aggregateStatistics(LocalDateTime.now())) {
+            counts.merge((String) row[0], ((Number) row[3]).longValue(), Long::sum);
+            counts.merge(((Task.Priority) row[1]).name(), ((Number) row[3]).longValue(), Long::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Map<String, Object> counters() {
+        return taskService.getTaskStatistics();
+    }
+}
@@ -1,14 +1,19 @@
 package com.taskmanager;
 
+import com.taskmanager.config.TimeConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Spring Boot タスク管理アプリケーションのメインクラス
  */
 @SpringBootApplication
+@EnableScheduling
 public class Application {
     public static void main(String[] args) {
-        SpringApplication.run(Application.class, args);
+        SpringApplication application = new SpringApplication(Application.class);
+        application.addListeners(new TimeConfig.TimeZoneInitializer());
+        application.run(args);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.taskmanager.archive;
+
+import com.taskmanager.repository.ArchivedTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 完了済みタスクの退避
+ * 完了済みで最終更新から一定期間が経過したタスクを、一定件数ごとに1トランザクションで
+ * tasksからarchived_tasksへ移し、作業用のテーブルとインデックスを未完了・最近のタスクに保つ。
+ * 移動では変更イベントを発行しない（件数・統計・検索インデックスは退避済みのタスクを含めて数える）。
+ * 退避済みのタスクを変更する場合はrestoreでtasksに戻してから通常どおり更新する
+ */
+@Component
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    private final boolean enabled;
+
+    private final Duration completedAfter;
+
+    private final int batchSize;
+
+    private final Counter archivedCounter;
+
+    private final Counter restoredCounter;
+
+    public TaskArchiver(ArchivedTaskRepository archivedTaskRepository,
+                        PlatformTransactionManager transactionManager,
+                        Clock clock,
+                        MeterRegistry meterRegistry,
+                        @Value("${taskmanager.archive.enabled:true}") boolean enabled,
+                        @Value("${taskmanager.archive.completed-after:P30D}") Duration completedAfter,
+                        @Value("${taskmanager.archive.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("taskmanager.archive.batch-sizeは1以上で指定してください");
+        }
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.completedAfter = completedAfter;
+        this.batchSize = batchSize;
+        this.archivedCounter = Counter.builder("taskmanager.archive.moved")
+                .description("作業テーブルと退避テーブルの間で移したタスク数")
+                .tag("direction", "archived")
+                .register(meterRegistry);
+        this.restoredCounter = Counter.builder("taskmanager.archive.moved")
+                .description("作業テーブルと退避テーブルの間で移したタスク数")
+                .tag("direction", "restored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 退避対象がなくなるまで一定件数ずつ退避（1回の移動ごとにコミットし、ロックを長く保持しない）
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.archive.interval:PT1H}",
+               initialDelayString = "${taskmanager.archive.initial-delay:PT1M}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(completedAfter);
+        long total = 0;
+        int moved;
+        do {
+            moved = Objects.requireNonNull(transactionTemplate.execute(status -> archiveBatch(cutoff)));
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("完了済みタスクを退避しました: tasks={}, completedBefore={}", total, cutoff);
+        }
+    }
+
+    /**
+     * 退避済みのタスクをtasksに戻し、戻したIDを返す（呼び出し元のトランザクション内で実行する。
+     * 退避されていないIDは無視する）
+     */
+    @Transactional
+    public List<Long> restore(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> locked = archivedTaskRepository.lockByIdIn(ids);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        archivedTaskRepository.copyToTasks(locked);
+        archivedTaskRepository.copyTagsToTasks(locked);
+        archivedTaskRepository.deleteByIdIn(locked);
+        restoredCounter.increment(locked.size());
+        log.debug("退避済みのタスクを戻しました: ids={}", locked);
+        return locked;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = archivedTaskRepository.lockArchivable(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedTaskRepository.copyFromTasks(ids, LocalDateTime.now(clock));
+        archivedTaskRepository.copyTagsFromTasks(ids);
+        archivedTaskRepository.deleteFromTasks(ids);
+        archivedCounter.increment(ids.size());
+        return ids.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * キャッシュ設定
+ * キャッシュごとにサイズ上限とTTLを指定し、ヒット率をメトリクスとして記録する。
+ * タスク詳細・タスク一覧はエンティティではなく不変スナップショットで保持する（TaskSnapshotCache）
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // タスク詳細（キー: タスクID）
+    public static final String TASKS = "tasks";
+
+    // カテゴリ一覧
+    public static final String CATEGORIES = "categories";
+
+    // フィルター条件ごとのタスク一覧
+    public static final String TASK_LISTS = "taskLists";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${taskmanager.cache.tasks:maximumSize=10000,expireAfterWrite=1m}") String tasksSpec,
+            @Value("${taskmanager.cache.categories:maximumSize=1,expireAfterWrite=10m}") String categoriesSpec,
+            @Value("${taskmanager.cache.task-lists:maximumSize=50,expireAfterWrite=10s}") String taskListsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                if (TASKS.equals(name) || TASK_LISTS.equals(name)) {
+                    return new TaskSnapshotCache(name, cache, isAllowNullValues());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(TASKS, Caffeine.from(tasksSpec).recordStats().build());
+        cacheManager.registerCustomCache(CATEGORIES, Caffeine.from(categoriesSpec).recordStats().build());
+        cacheManager.registerCustomCache(TASK_LISTS, Caffeine.from(taskListsSpec).recordStats().build());
+        return cacheManager;
+    }
+}
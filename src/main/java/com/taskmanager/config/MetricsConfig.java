@@ -0,0 +1,51 @@
+package com.taskmanager.config;
+
+import com.taskmanager.metrics.QueryCountInterceptor;
+import com.taskmanager.metrics.QueryCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * メトリクス設定
+ * サービスメソッドの @Timed 計測と、リクエストごとのSQL発行数の計測・予算チェックを有効にする
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enforceQueryBudget;
+
+    private final int defaultQueryBudget;
+
+    public MetricsConfig(MeterRegistry meterRegistry,
+                         @Value("${taskmanager.query-guard.enabled:false}") boolean enforceQueryBudget,
+                         @Value("${taskmanager.query-guard.max-queries-per-request:20}") int defaultQueryBudget) {
+        this.meterRegistry = meterRegistry;
+        this.enforceQueryBudget = enforceQueryBudget;
+        this.defaultQueryBudget = defaultQueryBudget;
+    }
+
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry, enforceQueryBudget, defaultQueryBudget))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmanager.config;
+
+import com.taskmanager.ratelimit.AdaptiveConcurrencyLimit;
+import com.taskmanager.ratelimit.RateLimitInterceptor;
+import com.taskmanager.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * レート制限設定
+ * クライアントごとのトークンバケットと、応答時間に応じた同時実行数の上限をAPIの入口に適用する
+ * （拒否するリクエストでSQL計測などを行わないよう、他のインターセプターより先に実行する）
+ */
+@Configuration
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final String clientIdHeader;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    public RateLimitConfig(RateLimiter rateLimiter,
+                           MeterRegistry meterRegistry,
+                           @Value("${taskmanager.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${taskmanager.rate-limit.client-id-header:}") String clientIdHeader,
+                           @Value("${taskmanager.rate-limit.concurrency.enabled:true}") boolean concurrencyEnabled,
+                           @Value("${taskmanager.rate-limit.concurrency.initial-limit:50}") int initialLimit,
+                           @Value("${taskmanager.rate-limit.concurrency.min-limit:10}") int minLimit,
+                           @Value("${taskmanager.rate-limit.concurrency.max-limit:200}") int maxLimit,
+                           @Value("${taskmanager.rate-limit.concurrency.tolerance:2.0}") double tolerance,
+                           @Value("${taskmanager.rate-limit.concurrency.window:PT1S}") Duration window) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.clientIdHeader = clientIdHeader;
+        if (enabled && concurrencyEnabled) {
+            this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance,
+                    window.toNanos(), System.nanoTime());
+            Gauge.builder("taskmanager.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("現在の同時実行数の上限")
+                    .register(meterRegistry);
+            Gauge.builder("taskmanager.concurrency.in_flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("処理中のリクエスト数")
+                    .register(meterRegistry);
+        } else {
+            this.concurrencyLimit = null;
+        }
+        Gauge.builder("taskmanager.ratelimit.buckets", rateLimiter, RateLimiter::getBucketCount)
+                .description("保持しているトークンバケット数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, concurrencyLimit, meterRegistry, clientIdHeader))
+                .addPathPatterns("/api/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taskmanager.entity.Task;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * シリアライズ設定
+ * Acceptヘッダーに応じてJSONの代わりにバイナリ形式（CBOR / Smile）で応答する。
+ * spring.jackson.* の設定はJSONと共通で、表現（項目・日時の形式）は同じになる
+ */
+@Configuration
+public class SerializationConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * タスクの期限の判定（overdue・dueToday）を注入されたClockの時刻で出力するモジュール
+     * Module型のBeanはJackson2ObjectMapperBuilderに登録されるため、JSON・CBOR・Smileのすべてに適用される
+     */
+    @Bean
+    public Module taskDueModule(Clock clock) {
+        SimpleModule module = new SimpleModule("taskDue");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(com.fasterxml.jackson.databind.SerializationConfig config,
+                                                             BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                if (!Task.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                    return beanProperties;
+                }
+                List<BeanPropertyWriter> properties = new ArrayList<>(beanProperties);
+                properties.add(new TaskDuePropertyWriter(config, beanDesc, "overdue", clock, Task::isOverdue));
+                properties.add(new TaskDuePropertyWriter(config, beanDesc, "dueToday", clock, Task::isDueToday));
+                return properties;
+            }
+        });
+        return module;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
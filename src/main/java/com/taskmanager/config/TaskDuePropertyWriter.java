@@ -0,0 +1,60 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.introspect.VirtualAnnotatedMember;
+import com.fasterxml.jackson.databind.ser.VirtualBeanPropertyWriter;
+import com.fasterxml.jackson.databind.util.SimpleBeanPropertyDefinition;
+import com.taskmanager.entity.Task;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.function.BiPredicate;
+
+/**
+ * タスクの期限の判定（overdue・dueToday）を出力するプロパティ
+ * 判定は時刻で変わるため、エンティティではなくシリアライズ時に注入されたClockの現在時刻で行う
+ */
+class TaskDuePropertyWriter extends VirtualBeanPropertyWriter {
+
+    private final Clock clock;
+
+    private final BiPredicate<Task, LocalDateTime> predicate;
+
+    TaskDuePropertyWriter(MapperConfig<?> config, BeanDescription beanDesc, String name,
+                          Clock clock, BiPredicate<Task, LocalDateTime> predicate) {
+        this(definition(config, beanDesc, name), beanDesc, config.constructType(Boolean.TYPE), clock, predicate);
+    }
+
+    private TaskDuePropertyWriter(BeanPropertyDefinition definition, BeanDescription beanDesc, JavaType type,
+                                  Clock clock, BiPredicate<Task, LocalDateTime> predicate) {
+        super(definition, beanDesc.getClassAnnotations(), type);
+        this.clock = clock;
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected Object value(Object bean, JsonGenerator gen, SerializerProvider prov) {
+        return predicate.test((Task) bean, LocalDateTime.now(clock));
+    }
+
+    // @JsonAppendからは生成しない
+    @Override
+    public VirtualBeanPropertyWriter withConfig(MapperConfig<?> config, AnnotatedClass declaringClass,
+                                                BeanPropertyDefinition propDef, JavaType type) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static BeanPropertyDefinition definition(MapperConfig<?> config, BeanDescription beanDesc, String name) {
+        JavaType type = config.constructType(Boolean.TYPE);
+        VirtualAnnotatedMember member = new VirtualAnnotatedMember(
+                beanDesc.getClassInfo(), beanDesc.getBeanClass(), name, type);
+        return SimpleBeanPropertyDefinition.construct(config, member, PropertyName.construct(name));
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskSnapshot;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.List;
+
+/**
+ * タスクを不変スナップショットとして保持するキャッシュ
+ * 書き込み時にタスク（またはタスクのリスト）をスナップショットに変換し、読み出しのたびに新しいタスクとして復元する。
+ * 呼び出し側が返されたタスクを変更してもキャッシュの内容は変わらない
+ */
+class TaskSnapshotCache extends CaffeineCache {
+
+    TaskSnapshotCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        if (userValue instanceof Task task) {
+            return TaskSnapshot.of(task);
+        }
+        if (userValue instanceof List<?> list) {
+            return list.stream()
+                    .map(element -> element instanceof Task task ? TaskSnapshot.of(task) : element)
+                    .toList();
+        }
+        return super.toStoreValue(userValue);
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        if (storeValue instanceof TaskSnapshot snapshot) {
+            return snapshot.toTask();
+        }
+        if (storeValue instanceof List<?> list) {
+            return list.stream()
+                    .map(element -> element instanceof TaskSnapshot snapshot ? snapshot.toTask() : element)
+                    .toList();
+        }
+        return super.fromStoreValue(storeValue);
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+/**
+ * 時刻設定
+ * 日時はタイムゾーンを持たないLocalDateTimeで保存するため、
+ * 期限の判定・作成日時・データベースのCURRENT_TIMESTAMPをすべてアプリケーションのタイムゾーンに揃える
+ */
+@Configuration
+public class TimeConfig {
+
+    static final String TIME_ZONE_PROPERTY = "spring.jackson.time-zone";
+
+    @Bean
+    public Clock clock(@Value("${" + TIME_ZONE_PROPERTY + ":Asia/Tokyo}") String timeZone) {
+        return Clock.system(ZoneId.of(timeZone));
+    }
+
+    /**
+     * 環境の準備完了時（Bean生成前）にJVMの既定タイムゾーンを設定するリスナー
+     */
+    public static class TimeZoneInitializer implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            String timeZone = event.getEnvironment().getProperty(TIME_ZONE_PROPERTY);
+            if (timeZone != null) {
+                TimeZone.setDefault(TimeZone.getTimeZone(ZoneId.of(timeZone)));
+            }
+        }
+    }
+}
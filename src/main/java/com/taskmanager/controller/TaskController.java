@@ -1,8 +1,32 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.config.SerializationConfig;
+import com.taskmanager.dto.BatchResult;
+import com.taskmanager.dto.ImportResult;
+import com.taskmanager.dto.TaskBatchUpdateRequest;
+import com.taskmanager.dto.TaskFields;
+import com.taskmanager.dto.TaskPage;
+import com.taskmanager.dto.TaskPatchRequest;
 import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.dto.TaskSearchResult;
+import com.taskmanager.dto.TaskSummary;
+import com.taskmanager.entity.Category;
 import com.taskmanager.entity.Task;
+import com.taskmanager.feed.TaskChangeFeed;
+import com.taskmanager.metrics.QueryBudget;
+import com.taskmanager.ratelimit.RequestCost;
+import com.taskmanager.service.CategoryService;
+import com.taskmanager.service.TaskBatchService;
+import com.taskmanager.service.TaskChangeTracker;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskTransferService;
+import com.taskmanager.writebehind.TaskWriteQueue;
+import com.taskmanager.writebehind.WriteQueueFullException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,113 +34,635 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Tag(name = "タスク管理", description = "タスクのCRUD操作を行うAPI")
 public class TaskController {
 
+    // インポート・エクスポートのCSV形式
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    // 書き込みキューで非同期に処理する要求（RFC 7240）
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskTransferService taskTransferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private TaskChangeTracker changeTracker;
+
+    @Autowired
+    private TaskChangeFeed changeFeed;
+
+    @Autowired
+    private TaskWriteQueue writeQueue;
+
+    @Autowired
+    private Clock clock;
+
+    /**
+     * 条件付きGET（If-None-Match / If-Modified-Since）が一致すれば本文を生成せずに304を返す
+     * ブラウザが毎回再検証するよう no-cache を付け、表現形式ごとに区別されるよう Vary: Accept を付ける
+     */
+    static <T> ResponseEntity<T> conditionalGet(WebRequest webRequest, String etag, long lastModified, Supplier<T> body) {
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+
     @GetMapping
-    @Operation(summary = "タスク一覧取得", description = "条件に応じてタスク一覧を取得します")
+    @RequestCost(5)
+    @Operation(summary = "タスク一覧取得", description = "条件に応じてタスク一覧を取得します（ETagによる条件付き取得に対応）")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "正常にタスク一覧を取得")
+        @ApiResponse(responseCode = "200", description = "正常にタスク一覧を取得"),
+        @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません")
     })
-    public List<Task> getTasks(
+    public ResponseEntity<List<?>> getTasks(
             @Parameter(description = "検索キーワード") @RequestParam(required = false) String search,
             @Parameter(description = "完了状態フィルター") @RequestParam(required = false) String status,
             @Parameter(description = "優先度フィルター") @RequestParam(required = false) String priority,
-            @Parameter(description = "カテゴリフィルター") @RequestParam(required = false) String category) {
+            @Parameter(description = "カテゴリフィルター") @RequestParam(required = false) String category,
+            @Parameter(description = "タグフィルター（カンマ区切り）") @RequestParam(required = false) String tags,
+            @Parameter(description = "タグの一致条件（any: いずれか、all: すべて）") @RequestParam(defaultValue = "any") String tagMatch,
+            @Parameter(description = "返却する項目（カンマ区切り、例: id,title,priority）") @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         
+        if (!"any".equals(tagMatch) && !"all".equals(tagMatch)) {
+            return ResponseEntity.badRequest().build();
+        }
+        TaskFields taskFields;
+        try {
+            taskFields = fields != null ? TaskFields.parse(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditionalGet(webRequest, changeTracker.getCollectionETag(), changeTracker.getCollectionLastModified(),
+                () -> listTasks(search, status, priority, category, tags, "all".equals(tagMatch), taskFields));
+    }
+
+    private List<?> listTasks(String search, String status, String priority, String category,
+                              String tags, boolean matchAllTags, TaskFields taskFields) {
+        if (taskFields == null) {
+            return findTasks(search, status, priority, category, tags, matchAllTags);
+        }
+        // 要約の項目だけなら射影で取得し、エンティティを読み込まない
+        if (taskFields.isSummaryOnly() && tags == null) {
+            return taskService.getTaskSummaries(search, status, priority, category).stream()
+                    .map(taskFields::select)
+                    .toList();
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        return findTasks(search, status, priority, category, tags, matchAllTags).stream()
+                .map(task -> taskFields.select(task, now))
+                .toList();
+    }
+
+    private List<Task> findTasks(String search, String status, String priority, String category,
+                                 String tags, boolean matchAllTags) {
         if (search != null && !search.trim().isEmpty()) {
             return taskService.searchTasks(search);
+        } else if (tags != null) {
+            return taskService.getTasksByTags(tags, matchAllTags, status, priority, category);
         } else {
             return taskService.getTasksByFilters(status, priority, category);
         }
     }
 
+    @GetMapping("/summary")
+    @RequestCost(2)
+    @Operation(summary = "タスク要約一覧取得", description = "一覧表示用の要約（ID・タイトル・優先度・完了状態・期限・カテゴリ）を取得します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にタスク要約一覧を取得")
+    })
+    public List<TaskSummary> getTaskSummaries(
+            @Parameter(description = "検索キーワード") @RequestParam(required = false) String search,
+            @Parameter(description = "完了状態フィルター") @RequestParam(required = false) String status,
+            @Parameter(description = "優先度フィルター") @RequestParam(required = false) String priority,
+            @Parameter(description = "カテゴリフィルター") @RequestParam(required = false) String category) {
+        return taskService.getTaskSummaries(search, status, priority, category);
+    }
+
+    @GetMapping("/page")
+    @RequestCost(2)
+    @Operation(summary = "タスク一覧ページ取得", description = "継続トークンによるキーセットページングでタスク一覧を取得します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にタスク一覧ページを取得"),
+        @ApiResponse(responseCode = "400", description = "継続トークンが不正です")
+    })
+    public ResponseEntity<TaskPage> getTaskPage(
+            @Parameter(description = "検索キーワード") @RequestParam(required = false) String search,
+            @Parameter(description = "完了状態フィルター") @RequestParam(required = false) String status,
+            @Parameter(description = "優先度フィルター") @RequestParam(required = false) String priority,
+            @Parameter(description = "カテゴリフィルター") @RequestParam(required = false) String category,
+            @Parameter(description = "前ページの継続トークン") @RequestParam(required = false) String cursor,
+            @Parameter(description = "ページサイズ（最大" + TaskService.MAX_PAGE_SIZE + "）") @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(taskService.getTaskPage(search, status, priority, category, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    @RequestCost(5)
+    @Operation(summary = "タスク全文検索", description = "タイトル・説明・タグを検索インデックスで検索し、関連度順に返します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常に検索結果を取得")
+    })
+    public TaskSearchResult searchTasks(
+            @Parameter(description = "検索キーワード") @RequestParam String q,
+            @Parameter(description = "ページ番号（0始まり）") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "ページサイズ（最大" + TaskService.MAX_PAGE_SIZE + "）") @RequestParam(required = false) Integer size) {
+        return taskService.searchTasks(q, page, size);
+    }
+
+    @GetMapping(value = "/stream", produces = {
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, SerializationConfig.APPLICATION_SMILE_VALUE})
+    @RequestCost(20)
+    @Operation(summary = "タスク一覧ストリーミング取得", description = "条件に一致するタスクをNDJSON形式で1行ずつ返します（Acceptヘッダーの指定によりCBOR・Smileの値の連続で返します）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にタスクをストリーミング")
+    })
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            @Parameter(description = "検索キーワード") @RequestParam(required = false) String search,
+            @Parameter(description = "完了状態フィルター") @RequestParam(required = false) String status,
+            @Parameter(description = "優先度フィルター") @RequestParam(required = false) String priority,
+            @Parameter(description = "カテゴリフィルター") @RequestParam(required = false) String category,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType mediaType = selectStreamType(accept);
+        StreamingResponseBody body;
+        if (MediaType.APPLICATION_NDJSON.equals(mediaType)) {
+            ObjectWriter writer = objectMapper.writerFor(Task.class);
+            body = out -> taskService.streamTasks(search, status, priority, category, task -> {
+                try {
+                    out.write(writer.writeValueAsBytes(task));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } else {
+            ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(mediaType)
+                    ? cborConverter.getObjectMapper()
+                    : smileConverter.getObjectMapper();
+            // 1つのジェネレーターで書き続けることでSmileのキー名の後方参照を全件で共有する。
+            // 1件ごとのフラッシュはせず、ジェネレーターのバッファ単位で送る
+            ObjectWriter writer = mapper.writerFor(Task.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            body = out -> {
+                try (SequenceWriter sequence = writer.writeValues(out)) {
+                    taskService.streamTasks(search, status, priority, category, task -> {
+                        try {
+                            sequence.write(task);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            };
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+    }
+
+    // Acceptヘッダーのq値が高い順に、NDJSON・CBOR・Smileのうち最初に受け入れ可能な形式を選ぶ
+    // （ワイルドカードや未指定の場合はNDJSON）
+    private static MediaType selectStreamType(String accept) {
+        if (accept == null) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType candidate : List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_CBOR,
+                    SerializationConfig.APPLICATION_SMILE)) {
+                if (type.includes(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @QueryBudget(Integer.MAX_VALUE)
+    @RequestCost(50)
+    @Operation(summary = "タスク一括インポート", description = "CSV（1行目は見出し行）またはNDJSONのリクエスト本文を読みながら、" +
+            "一定件数ごとにタスクを作成してコミットします。取り込めなかった行は行番号とエラー内容を返します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "インポートを実行（取り込めなかった行を含む）"),
+        @ApiResponse(responseCode = "400", description = "CSVの見出し行が不正です")
+    })
+    public ResponseEntity<ImportResult> importTasks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        try {
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                return ResponseEntity.ok(taskTransferService.importNdjson(body));
+            }
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+            return ResponseEntity.ok(taskTransferService.importCsv(body, charset));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @RequestCost(20)
+    @Operation(summary = "タスクエクスポート", description = "条件に一致するタスクをCSVまたはNDJSONのファイルとして1件ずつ書き出します（CSVはインポートにそのまま使えます）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にエクスポート"),
+        @ApiResponse(responseCode = "400", description = "形式の指定が不正です")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "形式（csv / ndjson）") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "検索キーワード") @RequestParam(required = false) String search,
+            @Parameter(description = "完了状態フィルター") @RequestParam(required = false) String status,
+            @Parameter(description = "優先度フィルター") @RequestParam(required = false) String priority,
+            @Parameter(description = "カテゴリフィルター") @RequestParam(required = false) String category) {
+        StreamingResponseBody body;
+        MediaType mediaType;
+        if ("csv".equals(format)) {
+            body = out -> taskTransferService.exportCsv(out, search, status, priority, category);
+            mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else if ("ndjson".equals(format)) {
+            body = out -> taskTransferService.exportNdjson(out, search, status, priority, category);
+            mediaType = MediaType.APPLICATION_NDJSON;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "タスク変更フィード", description = "タスクの作成・更新・完了切り替え・削除をServer-Sent Eventsで配信します（tasks: 変更の配列、resync: 一覧の再取得が必要）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "変更フィードの購読を開始")
+    })
+    public SseEmitter streamChanges() {
+        return changeFeed.subscribe();
+    }
+
+    @GetMapping("/due")
+    @RequestCost(2)
+    @Operation(summary = "期限間近タスク取得", description = "現在から指定期間内に期限を迎える未完了タスクを期限順に取得します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にタスク一覧を取得"),
+        @ApiResponse(responseCode = "400", description = "期間の指定が不正です")
+    })
+    public ResponseEntity<List<Task>> getTasksDueWithin(
+            @Parameter(description = "期間（時間）") @RequestParam(required = false) Integer hours,
+            @Parameter(description = "期間（日）") @RequestParam(required = false) Integer days) {
+        Duration within = Duration.ofHours(hours != null ? hours : 0).plusDays(days != null ? days : 0);
+        if (hours == null && days == null) {
+            within = Duration.ofDays(1);
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksDueWithin(within));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "タスク詳細取得", description = "指定されたIDのタスク詳細を取得します")
+    @Operation(summary = "タスク詳細取得", description = "指定されたIDのタスク詳細を取得します（ETagによる条件付き取得に対応）")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "正常にタスク詳細を取得"),
+        @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません"),
         @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません")
     })
     public ResponseEntity<Task> getTask(
-            @Parameter(description = "タスクID") @PathVariable Long id) {
+            @Parameter(description = "タスクID") @PathVariable Long id,
+            WebRequest webRequest) {
+        // 書き込みキューに未書き込みの変更があればそれを反映して返す（書き込み後に内容が変わるためキャッシュさせない）
+        Optional<Task> pending = writeQueue.getPending(id);
+        if (pending.isPresent()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(pending.get());
+        }
         Optional<Task> task = taskService.getTaskById(id);
         if (task.isPresent()) {
-            return ResponseEntity.ok(task.get());
+            return conditionalGet(webRequest, changeTracker.getTaskETag(task.get()),
+                    changeTracker.getTaskLastModified(task.get()), task::get);
         }
         return ResponseEntity.notFound().build();
     }
 
     @PostMapping
-    @Operation(summary = "タスク作成", description = "新しいタスクを作成します")
+    @Operation(summary = "タスク作成", description = "新しいタスクを作成します（Prefer: respond-asyncで書き込みキューに受け付けて202を返します）")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "正常にタスクを作成"),
-        @ApiResponse(responseCode = "400", description = "リクエストデータが不正です")
+        @ApiResponse(responseCode = "202", description = "作成を受け付けました（書き込みは非同期）"),
+        @ApiResponse(responseCode = "400", description = "リクエストデータが不正です"),
+        @ApiResponse(responseCode = "429", description = "書き込みキューが満杯です")
     })
-    public Task createTask(
-            @Parameter(description = "作成するタスクの情報") @Valid @RequestBody TaskRequest taskRequest) {
-        return taskService.createTask(taskRequest.toEntity());
+    public ResponseEntity<Task> createTask(
+            @Parameter(description = "作成するタスクの情報") @Valid @RequestBody TaskRequest taskRequest,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (!respondAsync(prefer)) {
+            return ResponseEntity.ok(taskService.createTask(taskRequest.toEntity()));
+        }
+        try {
+            Task task = writeQueue.enqueueCreate(taskRequest.toEntity());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/tasks/" + task.getId()))
+                    .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                    .body(task);
+        } catch (WriteQueueFullException e) {
+            return queueFull();
+        }
+    }
+
+    @PostMapping("/batch")
+    @QueryBudget(100)
+    @RequestCost(10)
+    @Operation(summary = "タスク一括作成", description = "複数のタスクを1トランザクションで作成し、1件ごとの結果を返します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "一括作成を実行（1件ごとの結果を含む）"),
+        @ApiResponse(responseCode = "400", description = "件数が0件または上限（" + TaskBatchService.MAX_BATCH_SIZE + "件）を超えています")
+    })
+    public ResponseEntity<BatchResult> createTasks(
+            @Parameter(description = "作成するタスクの情報の配列") @RequestBody List<TaskRequest> taskRequests) {
+        try {
+            return ResponseEntity.ok(taskBatchService.createTasks(taskRequests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PutMapping("/batch")
+    @QueryBudget(100)
+    @RequestCost(10)
+    @Operation(summary = "タスク一括更新", description = "複数のタスクを1トランザクションで更新し、1件ごとの結果を返します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "一括更新を実行（1件ごとの結果を含む）"),
+        @ApiResponse(responseCode = "400", description = "件数が0件または上限（" + TaskBatchService.MAX_BATCH_SIZE + "件）を超えています"),
+        @ApiResponse(responseCode = "409", description = "処理中に対象のタスクが他の操作で更新されました")
+    })
+    public ResponseEntity<BatchResult> updateTasks(
+            @Parameter(description = "IDと更新内容の配列") @RequestBody List<TaskBatchUpdateRequest> taskRequests) {
+        try {
+            // 件数の上限を超えたリクエストは書き込みキューに触れずに拒否する
+            TaskBatchService.checkSize(taskRequests);
+            writeQueue.flush(taskRequests.stream()
+                    .map(TaskBatchUpdateRequest::getId)
+                    .filter(Objects::nonNull)
+                    .toList());
+            return ResponseEntity.ok(taskBatchService.updateTasks(taskRequests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (TransientDataAccessException e) {
+            return writeQueueUnavailable();
+        }
+    }
+
+    @PatchMapping("/batch/toggle")
+    @QueryBudget(100)
+    @RequestCost(10)
+    @Operation(summary = "タスク完了状態一括切り替え", description = "指定されたIDのタスクの完了状態を1トランザクションで切り替えます")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "一括切り替えを実行（1件ごとの結果を含む）"),
+        @ApiResponse(responseCode = "400", description = "件数が0件または上限（" + TaskBatchService.MAX_BATCH_SIZE + "件）を超えています"),
+        @ApiResponse(responseCode = "409", description = "処理中に対象のタスクが他の操作で更新されました")
+    })
+    public ResponseEntity<BatchResult> toggleTasks(
+            @Parameter(description = "切り替えるタスクのIDの配列") @RequestBody List<Long> ids) {
+        try {
+            TaskBatchService.checkSize(ids);
+            writeQueue.flush(ids.stream().filter(Objects::nonNull).toList());
+            return ResponseEntity.ok(taskBatchService.toggleTasks(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (TransientDataAccessException e) {
+            return writeQueueUnavailable();
+        }
+    }
+
+    @PostMapping("/batch/delete")
+    @QueryBudget(100)
+    @RequestCost(10)
+    @Operation(summary = "タスク一括削除", description = "指定されたIDのタスクを1トランザクションで削除します")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "一括削除を実行（1件ごとの結果を含む）"),
+        @ApiResponse(responseCode = "400", description = "件数が0件または上限（" + TaskBatchService.MAX_BATCH_SIZE + "件）を超えています"),
+        @ApiResponse(responseCode = "409", description = "処理中に対象のタスクが他の操作で更新されました")
+    })
+    public ResponseEntity<BatchResult> deleteTasks(
+            @Parameter(description = "削除するタスクのIDの配列") @RequestBody List<Long> ids) {
+        try {
+            TaskBatchService.checkSize(ids);
+            writeQueue.flush(ids.stream().filter(Objects::nonNull).toList());
+            return ResponseEntity.ok(taskBatchService.deleteTasks(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (TransientDataAccessException e) {
+            return writeQueueUnavailable();
+        }
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "タスク更新", description = "指定されたIDのタスクを更新します")
+    @Operation(summary = "タスク更新", description = "指定されたIDのタスクを更新します（versionを指定すると競合を検出します）")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "正常にタスクを更新"),
         @ApiResponse(responseCode = "400", description = "リクエストデータが不正です"),
-        @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません")
+        @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません"),
+        @ApiResponse(responseCode = "409", description = "タスクは他の操作で更新されています")
     })
     public ResponseEntity<Task> updateTask(
             @Parameter(description = "更新するタスクのID") @PathVariable Long id,
             @Parameter(description = "更新するタスクの情報") @Valid @RequestBody TaskRequest taskRequest) {
-        Optional<Task> existingTask = taskService.getTaskById(id);
-        if (existingTask.isPresent()) {
-            Task task = existingTask.get();
-            taskRequest.updateEntity(task);
-            Task updatedTask = taskService.updateTask(task);
-            return ResponseEntity.ok(updatedTask);
+        try {
+            writeQueue.flush(id);
+            Optional<Task> updatedTask = taskService.updateTask(id, taskRequest);
+            if (updatedTask.isPresent()) {
+                return ResponseEntity.ok(updatedTask.get());
+            }
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (TransientDataAccessException e) {
+            return writeQueueUnavailable();
+        }
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "タスク部分更新", description = "指定された項目のみを更新します（nullを指定した項目は値を削除します。versionを指定すると競合を検出します）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にタスクを更新"),
+        @ApiResponse(responseCode = "400", description = "リクエストデータが不正です"),
+        @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません"),
+        @ApiResponse(responseCode = "409", description = "タスクは他の操作で更新されています")
+    })
+    public ResponseEntity<Task> patchTask(
+            @Parameter(description = "更新するタスクのID") @PathVariable Long id,
+            @Parameter(description = "更新する項目") @Valid @RequestBody TaskPatchRequest patchRequest) {
+        try {
+            writeQueue.flush(id);
+            Optional<Task> patchedTask = taskService.patchTask(id, patchRequest);
+            if (patchedTask.isPresent()) {
+                return ResponseEntity.ok(patchedTask.get());
+            }
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (TransientDataAccessException e) {
+            return writeQueueUnavailable();
         }
-        return ResponseEntity.notFound().build();
     }
 
     @PatchMapping("/{id}/toggle")
     @Operation(summary = "タスク完了状態切り替え", description = "指定されたIDのタスクの完了状態を切り替えます")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "正常に完了状態を切り替え"),
-        @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません")
+        @ApiResponse(responseCode = "202", description = "切り替えを受け付けました（書き込みは非同期）"),
+        @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません"),
+        @ApiResponse(responseCode = "429", description = "書き込みキューが満杯です")
     })
     public ResponseEntity<Task> toggleTaskCompletion(
-            @Parameter(description = "切り替えるタスクのID") @PathVariable Long id) {
-        Optional<Task> task = taskService.toggleTaskCompletion(id);
-        if (task.isPresent()) {
-            return ResponseEntity.ok(task.get());
+            @Parameter(description = "切り替えるタスクのID") @PathVariable Long id,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (!respondAsync(prefer)) {
+            try {
+                writeQueue.flush(id);
+            } catch (TransientDataAccessException e) {
+                return writeQueueUnavailable();
+            }
+            Optional<Task> task = taskService.toggleTaskCompletion(id);
+            if (task.isPresent()) {
+                return ResponseEntity.ok(task.get());
+            }
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+        try {
+            Optional<Task> task = writeQueue.enqueueToggle(id);
+            if (task.isPresent()) {
+                return ResponseEntity.accepted().header(PREFERENCE_APPLIED, RESPOND_ASYNC).body(task.get());
+            }
+            return ResponseEntity.notFound().build();
+        } catch (WriteQueueFullException e) {
+            return queueFull();
+        }
+    }
+
+    // 非同期の書き込みを要求されていて、書き込みキューが受付中か
+    private boolean respondAsync(String prefer) {
+        if (prefer == null || !writeQueue.isAccepting()) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> queueFull() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    // 同期の更新の前に書き込みキューの変更を書き込めなかった
+    private static <T> ResponseEntity<T> writeQueueUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "タスク削除", description = "指定されたIDのタスクを削除します")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "正常にタスクを削除"),
-        @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません")
+        @ApiResponse(responseCode = "404", description = "指定されたタスクが見つかりません"),
+        @ApiResponse(responseCode = "409", description = "タスクは他の操作で更新されています")
     })
     public ResponseEntity<Void> deleteTask(
             @Parameter(description = "削除するタスクのID") @PathVariable Long id) {
-        boolean deleted = taskService.deleteTask(id);
-        if (deleted) {
-            return ResponseEntity.noContent().build();
+        try {
+            writeQueue.flush(id);
+            boolean deleted = taskService.deleteTask(id);
+            if (deleted) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (TransientDataAccessException e) {
+            return writeQueueUnavailable();
         }
-        return ResponseEntity.notFound().build();
     }
 }
 
@@ -131,14 +677,19 @@ class StatsController {
     @Autowired
     private TaskService taskService;
     
+    @Autowired
+    private TaskChangeTracker changeTracker;
+    
     @GetMapping
-    @Operation(summary = "タスク統計情報取得", description = "全体的なタスク統計情報を取得します")
+    @RequestCost(5)
+    @Operation(summary = "タスク統計情報取得", description = "全体的なタスク統計情報を取得します（ETagによる条件付き取得に対応）")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "正常に統計情報を取得")
+        @ApiResponse(responseCode = "200", description = "正常に統計情報を取得"),
+        @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません")
     })
-    public ResponseEntity<Map<String, Object>> getStatistics() {
-        Map<String, Object> stats = taskService.getTaskStatistics();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Map<String, Object>> getStatistics(WebRequest webRequest) {
+        return TaskController.conditionalGet(webRequest, changeTracker.getCollectionETag(),
+                changeTracker.getCollectionLastModified(), taskService::getTaskStatistics);
     }
 }
 
@@ -153,13 +704,59 @@ class CategoriesController {
     @Autowired
     private TaskService taskService;
     
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private TaskChangeTracker changeTracker;
+    
     @GetMapping
-    @Operation(summary = "カテゴリ一覧取得", description = "すべてのタスクカテゴリを取得します")
+    @Operation(summary = "カテゴリ一覧取得", description = "すべてのタスクカテゴリを取得します（ETagによる条件付き取得に対応）")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "正常にカテゴリ一覧を取得")
+        @ApiResponse(responseCode = "200", description = "正常にカテゴリ一覧を取得"),
+        @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません")
     })
-    public ResponseEntity<List<String>> getCategories() {
-        List<String> categories = taskService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<String>> getCategories(WebRequest webRequest) {
+        return TaskController.conditionalGet(webRequest, changeTracker.getCategoriesETag(),
+                changeTracker.getCategoriesLastModified(), taskService::getAllCategories);
     }
-} 
\ No newline at end of file
+    
+    @GetMapping("/counts")
+    @RequestCost(2)
+    @Operation(summary = "カテゴリ別件数取得", description = "カテゴリごとのタスク件数と未完了件数を名前順に取得します（ETagによる条件付き取得に対応）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にカテゴリ別件数を取得"),
+        @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません")
+    })
+    public ResponseEntity<List<Category>> getCategoryCounts(WebRequest webRequest) {
+        // 未完了件数は完了状態の切り替えでも変わるため、一覧と同じ変更トークンを使う
+        return TaskController.conditionalGet(webRequest, changeTracker.getCollectionETag(),
+                changeTracker.getCollectionLastModified(), categoryService::getCategoryCounts);
+    }
+}
+
+/**
+ * タグ API コントローラー
+ */
+@RestController
+@RequestMapping("/api/tags")
+@Tag(name = "タグ", description = "タスクのタグを集計するAPI")
+class TagsController {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private TaskChangeTracker changeTracker;
+    
+    @GetMapping
+    @Operation(summary = "タグ別件数取得", description = "タグごとのタスク件数を件数の多い順に取得します（ETagによる条件付き取得に対応）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "正常にタグ別件数を取得"),
+        @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません")
+    })
+    public ResponseEntity<Map<String, Long>> getTagCounts(WebRequest webRequest) {
+        return TaskController.conditionalGet(webRequest, changeTracker.getCollectionETag(),
+                changeTracker.getCollectionLastModified(), taskService::getTagCounts);
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.entity.Task;
+
+/**
+ * 一括操作の1件ごとの結果
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    /**
+     * 処理結果
+     */
+    public enum Status {
+        CREATED, UPDATED, TOGGLED, DELETED, NOT_FOUND, INVALID, CONFLICT
+    }
+
+    private final int index;
+    private final Long id;
+    private final Status status;
+    private final String error;
+    private final Task task;
+
+    private BatchItemResult(int index, Long id, Status status, String error, Task task) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+        this.task = task;
+    }
+
+    public static BatchItemResult success(int index, Status status, Task task) {
+        return new BatchItemResult(index, task.getId(), status, null, task);
+    }
+
+    public static BatchItemResult deleted(int index, Long id) {
+        return new BatchItemResult(index, id, Status.DELETED, null, null);
+    }
+
+    public static BatchItemResult notFound(int index, Long id) {
+        return new BatchItemResult(index, id, Status.NOT_FOUND, "指定されたタスクが見つかりません", null);
+    }
+
+    public static BatchItemResult invalid(int index, Long id, String error) {
+        return new BatchItemResult(index, id, Status.INVALID, error, null);
+    }
+
+    public static BatchItemResult conflict(int index, Long id) {
+        return new BatchItemResult(index, id, Status.CONFLICT, "タスクは他の操作で更新されています", null);
+    }
+
+    public boolean isSuccess() {
+        return status != Status.NOT_FOUND && status != Status.INVALID && status != Status.CONFLICT;
+    }
+
+    // Getter メソッド
+    public int getIndex() { return index; }
+    public Long getId() { return id; }
+    public Status getStatus() { return status; }
+    public String getError() { return error; }
+    public Task getTask() { return task; }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * 一括操作の応答用のDTO
+ */
+public class BatchResult {
+
+    private final List<BatchItemResult> results;
+
+    public BatchResult(List<BatchItemResult> results) {
+        this.results = results;
+    }
+
+    // Getter メソッド
+    public List<BatchItemResult> getResults() { return results; }
+
+    public long getSucceeded() {
+        return results.stream().filter(BatchItemResult::isSuccess).count();
+    }
+
+    public long getFailed() {
+        return results.size() - getSucceeded();
+    }
+}
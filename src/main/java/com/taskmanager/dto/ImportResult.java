@@ -0,0 +1,73 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 一括インポートの応答用のDTO
+ * 取り込めなかった行を行番号とエラー内容で返す（件数が上限を超えた分は件数のみ）
+ */
+public class ImportResult {
+
+    /**
+     * 取り込めなかった行
+     */
+    public static class LineError {
+        private final long line;
+        private final String error;
+
+        public LineError(long line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public long getLine() { return line; }
+        public String getError() { return error; }
+    }
+
+    private final int maxErrors;
+
+    private long imported;
+
+    private long failed;
+
+    private final List<LineError> errors = new ArrayList<>();
+
+    public ImportResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 取り込んだ件数を加算
+     */
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    /**
+     * 取り込めなかった行を追加
+     */
+    public void addError(long line, String error) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new LineError(line, error));
+        }
+    }
+
+    /**
+     * エラーを行番号順に並べ替える（形式の誤りは読み込み時、入力検証の誤りは書き込み時に追加されるため）
+     */
+    public void sortErrors() {
+        errors.sort(Comparator.comparingLong(LineError::getLine));
+    }
+
+    // Getter メソッド
+    public long getImported() { return imported; }
+
+    public long getFailed() { return failed; }
+
+    public List<LineError> getErrors() { return errors; }
+
+    public boolean isErrorsTruncated() { return failed > errors.size(); }
+}
@@ -0,0 +1,17 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 一括更新要求の1件分のDTO（更新対象IDと更新内容）
+ */
+public class TaskBatchUpdateRequest extends TaskRequest {
+
+    @NotNull(message = "IDは必須です")
+    private Long id;
+
+    public TaskBatchUpdateRequest() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.event.TaskSnapshot;
+
+/**
+ * 変更フィードで配信する1件分の変更
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChange {
+
+    private final TaskChangeEvent.Type type;
+    private final Long id;
+
+    // 変更後のタスク（削除時はnull）
+    private final TaskSnapshot task;
+
+    private TaskChange(TaskChangeEvent.Type type, Long id, TaskSnapshot task) {
+        this.type = type;
+        this.id = id;
+        this.task = task;
+    }
+
+    public static TaskChange of(TaskChangeEvent event) {
+        return new TaskChange(event.getType(), event.getTaskId(), event.getAfter());
+    }
+
+    /**
+     * 同じタスクへの連続した変更を1件にまとめる（作成して削除した場合はnull）
+     */
+    public static TaskChange merge(TaskChange previous, TaskChange next) {
+        if (previous == null) {
+            return next;
+        }
+        if (next.type == TaskChangeEvent.Type.DELETED) {
+            return previous.type == TaskChangeEvent.Type.CREATED ? null : next;
+        }
+        if (previous.type == TaskChangeEvent.Type.CREATED) {
+            return new TaskChange(TaskChangeEvent.Type.CREATED, next.id, next.task);
+        }
+        if (previous.type != next.type) {
+            return new TaskChange(TaskChangeEvent.Type.UPDATED, next.id, next.task);
+        }
+        return next;
+    }
+
+    // Getter メソッド
+    public TaskChangeEvent.Type getType() { return type; }
+    public Long getId() { return id; }
+    public TaskSnapshot getTask() { return task; }
+}
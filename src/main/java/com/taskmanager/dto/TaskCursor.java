@@ -0,0 +1,80 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.entity.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * キーセットページング用の継続トークン
+ * findByFiltersの並び順（completed, priority, createdAt, id）の最終行と、
+ * その行が退避済みのタスクか（次ページを退避テーブルから続けるか）を保持する
+ */
+public class TaskCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String ARCHIVED = "archived";
+
+    private final boolean completed;
+    private final Task.Priority priority;
+    private final LocalDateTime createdAt;
+    private final Long id;
+    private final boolean archived;
+
+    public TaskCursor(boolean completed, Task.Priority priority, LocalDateTime createdAt, Long id, boolean archived) {
+        this.completed = completed;
+        this.priority = priority;
+        this.createdAt = createdAt;
+        this.id = id;
+        this.archived = archived;
+    }
+
+    /**
+     * ページ末尾のタスクからカーソルを生成
+     */
+    public static TaskCursor of(Task task, boolean archived) {
+        return new TaskCursor(task.isCompleted(), task.getPriority(), task.getCreatedAt(), task.getId(), archived);
+    }
+
+    /**
+     * 不透明トークンへエンコード
+     */
+    public String encode() {
+        String raw = completed + SEPARATOR + priority.name() + SEPARATOR + createdAt + SEPARATOR + id;
+        // 作業テーブル内のカーソルは退避テーブル導入前と同じ形式にする
+        if (archived) {
+            raw += SEPARATOR + ARCHIVED;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * トークンをデコード（不正な場合はIllegalArgumentException）
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 4 && !(parts.length == 5 && ARCHIVED.equals(parts[4]))) {
+                throw new IllegalArgumentException("不正なカーソルです");
+            }
+            return new TaskCursor(
+                    Boolean.parseBoolean(parts[0]),
+                    Task.Priority.valueOf(parts[1]),
+                    LocalDateTime.parse(parts[2]),
+                    Long.valueOf(parts[3]),
+                    parts.length == 5);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("不正なカーソルです", e);
+        }
+    }
+
+    // Getter メソッド
+    public boolean isCompleted() { return completed; }
+    public Task.Priority getPriority() { return priority; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+    public boolean isArchived() { return archived; }
+}
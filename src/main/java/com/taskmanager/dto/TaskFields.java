@@ -0,0 +1,104 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * 一覧APIの fields= パラメータ（スパースフィールドセット）
+ * 要約の項目だけが指定された場合はTaskSummaryの射影で取得できる
+ */
+public class TaskFields {
+
+    // エンティティから取得できる項目（JSONのプロパティ名と一致）
+    private static final Map<String, Function<Task, Object>> TASK_FIELDS = new LinkedHashMap<>();
+
+    // エンティティから現在時刻で判定する項目
+    private static final Map<String, BiPredicate<Task, LocalDateTime>> DUE_FIELDS = new LinkedHashMap<>();
+
+    // 要約から取得できる項目
+    private static final Map<String, Function<TaskSummary, Object>> SUMMARY_FIELDS = new LinkedHashMap<>();
+
+    static {
+        TASK_FIELDS.put("id", Task::getId);
+        TASK_FIELDS.put("title", Task::getTitle);
+        TASK_FIELDS.put("description", Task::getDescription);
+        TASK_FIELDS.put("completed", Task::isCompleted);
+        TASK_FIELDS.put("priority", Task::getPriority);
+        TASK_FIELDS.put("category", Task::getCategory);
+        TASK_FIELDS.put("tags", Task::getTags);
+        TASK_FIELDS.put("createdAt", Task::getCreatedAt);
+        TASK_FIELDS.put("updatedAt", Task::getUpdatedAt);
+        TASK_FIELDS.put("dueDate", Task::getDueDate);
+        DUE_FIELDS.put("overdue", Task::isOverdue);
+        DUE_FIELDS.put("dueToday", Task::isDueToday);
+
+        SUMMARY_FIELDS.put("id", TaskSummary::getId);
+        SUMMARY_FIELDS.put("title", TaskSummary::getTitle);
+        SUMMARY_FIELDS.put("completed", TaskSummary::isCompleted);
+        SUMMARY_FIELDS.put("priority", TaskSummary::getPriority);
+        SUMMARY_FIELDS.put("category", TaskSummary::getCategory);
+        SUMMARY_FIELDS.put("dueDate", TaskSummary::getDueDate);
+        SUMMARY_FIELDS.put("overdue", TaskSummary::isOverdue);
+    }
+
+    private final Set<String> fields;
+
+    private TaskFields(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * カンマ区切りの項目名を解析（未知の項目はIllegalArgumentException）
+     */
+    public static TaskFields parse(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(names::add);
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("項目が指定されていません");
+        }
+        for (String name : names) {
+            if (!TASK_FIELDS.containsKey(name) && !DUE_FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("不明な項目です: " + name);
+            }
+        }
+        return new TaskFields(names);
+    }
+
+    /**
+     * 要約の射影だけで応答できるか
+     */
+    public boolean isSummaryOnly() {
+        return SUMMARY_FIELDS.keySet().containsAll(fields);
+    }
+
+    /**
+     * 指定した項目を取り出す（期限の判定は注入されたClockの現在時刻で行う）
+     */
+    public Map<String, Object> select(Task task, LocalDateTime now) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String name : fields) {
+            BiPredicate<Task, LocalDateTime> due = DUE_FIELDS.get(name);
+            values.put(name, due != null ? due.test(task, now) : TASK_FIELDS.get(name).apply(task));
+        }
+        return values;
+    }
+
+    public Map<String, Object> select(TaskSummary summary) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String name : fields) {
+            values.put(name, SUMMARY_FIELDS.get(name).apply(summary));
+        }
+        return values;
+    }
+}
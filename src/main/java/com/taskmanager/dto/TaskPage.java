@@ -0,0 +1,32 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.entity.Task;
+
+import java.util.List;
+
+/**
+ * タスク一覧のページ応答用のDTO
+ */
+public class TaskPage {
+
+    private final List<Task> items;
+
+    private final String nextCursor;
+
+    private final int size;
+
+    public TaskPage(List<Task> items, String nextCursor, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    // Getter メソッド
+    public List<Task> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public int getSize() { return size; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,103 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.entity.Task;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * タスク部分更新要求用のDTO
+ * JSONに含まれていた項目だけを更新する（明示的なnullは値の削除として扱う）
+ */
+public class TaskPatchRequest {
+
+    @Size(max = 200, message = "タイトルは200文字以内で入力してください")
+    private String title;
+
+    @Size(max = 1000, message = "説明は1000文字以内で入力してください")
+    private String description;
+
+    private Task.Priority priority;
+
+    @Size(max = 100, message = "カテゴリは100文字以内で入力してください")
+    private String category;
+
+    @Size(max = 500, message = "タグは500文字以内で入力してください")
+    private String tags;
+
+    private LocalDateTime dueDate;
+
+    private Boolean completed;
+
+    // 楽観ロック用（指定時は現在のバージョンと一致しなければ競合とする）
+    private Long version;
+
+    // JSONに含まれていた項目名
+    private final Set<String> present = new HashSet<>();
+
+    // Getter / Setter メソッド（Setterは値の有無を記録する）
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; present.add("title"); }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; present.add("description"); }
+
+    public Task.Priority getPriority() { return priority; }
+    public void setPriority(Task.Priority priority) { this.priority = priority; present.add("priority"); }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; present.add("category"); }
+
+    public String getTags() { return tags; }
+    public void setTags(String tags) { this.tags = tags; present.add("tags"); }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; present.add("dueDate"); }
+
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; present.add("completed"); }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    @AssertTrue(message = "タイトルは必須です")
+    public boolean isTitleValid() {
+        return !present.contains("title") || (title != null && !title.isBlank());
+    }
+
+    @AssertTrue(message = "優先度と完了状態はnullにできません")
+    public boolean isRequiredFieldsValid() {
+        return !(present.contains("priority") && priority == null)
+                && !(present.contains("completed") && completed == null);
+    }
+
+    /**
+     * 指定された項目のみをEntityに反映
+     */
+    public void applyTo(Task task) {
+        if (present.contains("title")) {
+            task.setTitle(title);
+        }
+        if (present.contains("description")) {
+            task.setDescription(description);
+        }
+        if (present.contains("priority")) {
+            task.setPriority(priority);
+        }
+        if (present.contains("category")) {
+            task.setCategory(category);
+        }
+        if (present.contains("tags")) {
+            task.setTags(tags);
+        }
+        if (present.contains("dueDate")) {
+            task.setDueDate(dueDate);
+        }
+        if (present.contains("completed")) {
+            task.setCompleted(completed);
+        }
+    }
+}
@@ -30,6 +30,9 @@ public class TaskRequest {
     
     private Boolean completed = false;
     
+    // 楽観ロック用（更新時に指定すると現在のバージョンと一致しなければ競合とする。作成時は無視）
+    private Long version;
+    
     // デフォルトコンストラクタ
     public TaskRequest() {}
     
@@ -55,6 +58,9 @@ public class TaskRequest {
     public Boolean getCompleted() { return completed; }
     public void setCompleted(Boolean completed) { this.completed = completed; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     /**
      * DTOからEntityに変換
      */
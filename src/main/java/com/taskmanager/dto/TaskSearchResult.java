@@ -0,0 +1,35 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.entity.Task;
+
+import java.util.List;
+
+/**
+ * キーワード検索の応答用のDTO（関連度順）
+ */
+public class TaskSearchResult {
+
+    private final List<Task> items;
+
+    private final int total;
+
+    private final int page;
+
+    private final int size;
+
+    public TaskSearchResult(List<Task> items, int total, int page, int size) {
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    // Getter メソッド
+    public List<Task> getItems() { return items; }
+
+    public int getTotal() { return total; }
+
+    public int getPage() { return page; }
+
+    public int getSize() { return size; }
+}
@@ -0,0 +1,53 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.taskmanager.entity.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一覧表示用のタスク要約（JPQLのコンストラクタ式で直接生成し、エンティティを読み込まない）
+ */
+public class TaskSummary {
+
+    private final Long id;
+    private final String title;
+    private final Task.Priority priority;
+    private final boolean completed;
+    private final LocalDateTime dueDate;
+    private final String category;
+    private final LocalDateTime createdAt;
+    private boolean overdue;
+
+    public TaskSummary(Long id, String title, Task.Priority priority, boolean completed,
+                       LocalDateTime dueDate, String category, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.priority = priority;
+        this.completed = completed;
+        this.dueDate = dueDate;
+        this.category = category;
+        this.createdAt = createdAt;
+    }
+
+    // Getter メソッド
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public Task.Priority getPriority() { return priority; }
+    public boolean isCompleted() { return completed; }
+    public LocalDateTime getDueDate() { return dueDate; }
+    public String getCategory() { return category; }
+
+    // 退避済みのタスクとの並び替え用（応答には含めない）
+    @JsonIgnore
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public boolean isOverdue() { return overdue; }
+
+    /**
+     * 指定した現在時刻で期限切れかを判定して保持する（サービスが注入されたClockの時刻で呼び出す）
+     */
+    public void evaluateOverdue(LocalDateTime now) {
+        this.overdue = dueDate != null && now.isAfter(dueDate) && !completed;
+    }
+}
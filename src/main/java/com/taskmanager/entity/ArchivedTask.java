@@ -0,0 +1,94 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 退避済みタスクエンティティクラス
+ * 完了から一定期間が経過したタスクを作業用のtasksテーブルから移したもの（参照専用。
+ * 変更する場合はTaskArchiverでtasksに戻してからTaskとして更新する）
+ */
+@Entity
+@Immutable
+@Table(name = "archived_tasks", indexes = {
+    // スキーマはFlyway（db/migration）で作成する。ここではアクセスパスとの対応を示す
+    @Index(name = "idx_archived_tasks_list_order", columnList = "priority DESC, created_at DESC, id DESC"),
+    @Index(name = "idx_archived_tasks_category", columnList = "category")
+})
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.Priority priority;
+
+    @Column(length = 100)
+    private String category;
+
+    @Column(length = 500)
+    private String tags;
+
+    // 正規化したタグ（タグでの絞り込み・集計にのみ使う）
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "archived_task_tags", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "tag", length = 500, nullable = false)
+    private Set<String> tagSet = new HashSet<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // コンストラクタ（行はTaskArchiverがSQLで作成する）
+    protected ArchivedTask() {
+    }
+
+    /**
+     * 応答・検索インデックス用に管理対象外のTaskへ変換（完了済みとして返す）
+     */
+    public Task toTask() {
+        Task task = new Task(title, description, priority, category, tags, dueDate);
+        task.setId(id);
+        task.setCompleted(true);
+        task.setCreatedAt(createdAt);
+        task.setVersion(version);
+        // 他のsetterが更新日時を現在時刻にするため最後に設定する
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+
+    // Getter メソッド
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public Task.Priority getPriority() { return priority; }
+    public String getCategory() { return category; }
+    public String getTags() { return tags; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getDueDate() { return dueDate; }
+    public Long getVersion() { return version; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,49 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * カテゴリエンティティクラス
+ * タスクのカテゴリ名の辞書と、カテゴリ別のタスク件数・未完了件数を保持する
+ */
+@Entity
+@Table(name = "categories")
+public class Category {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Column(name = "open_task_count", nullable = false)
+    private long openTaskCount;
+
+    // コンストラクタ
+    protected Category() {
+    }
+
+    public Category(String name) {
+        this.name = name;
+    }
+
+    // Getter メソッド（件数はCategoryRepository.addCountsでのみ更新する）
+    public String getName() { return name; }
+
+    public long getTaskCount() { return taskCount; }
+
+    public long getOpenTaskCount() { return openTaskCount; }
+
+    @Override
+    public String toString() {
+        return "Category{" +
+                "name='" + name + '\'' +
+                ", taskCount=" + taskCount +
+                ", openTaskCount=" + openTaskCount +
+                '}';
+    }
+}
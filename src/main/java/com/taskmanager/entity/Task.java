@@ -3,19 +3,46 @@ package com.taskmanager.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * タスクエンティティクラス
  * JPA/Hibernateを使用したデータベース永続化対応
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // スキーマはFlyway（db/migration）で作成する。ここではアクセスパスとの対応を示す
+    @Index(name = "idx_tasks_list_order", columnList = "completed, priority DESC, created_at DESC, id DESC"),
+    @Index(name = "idx_tasks_priority", columnList = "priority"),
+    @Index(name = "idx_tasks_category", columnList = "category, completed"),
+    @Index(name = "idx_tasks_completed_due_date", columnList = "completed, due_date")
+})
+// UPDATEは変更された列のみを対象にする
+@DynamicUpdate
 public class Task {
     
+    // IDの採番に使うシーケンスと1回の取得で確保するIDの数（pooled-loのため取得値から連続する値を使う）
+    public static final String ID_SEQUENCE = "tasks_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // IDENTITYはINSERTごとに採番が必要でJDBCバッチが無効になるため、シーケンスで事前に採番する
+    // （書き込みキューで採番済みのIDはそのまま使う）
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "task_seq")
+    @GenericGenerator(name = "task_seq", type = TaskIdGenerator.class, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = ID_SEQUENCE),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE)
+    })
     private Long id;
     
     @NotBlank(message = "タイトルは必須です")
@@ -42,6 +69,12 @@ public class Task {
     @Column(length = 500)
     private String tags;
     
+    // 正規化したタグ（tagsから生成し、タグでの絞り込み・集計にのみ使う。一覧の取得では読み込まない）
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "tag", length = 500, nullable = false)
+    private Set<String> tagSet = new HashSet<>();
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -51,6 +84,11 @@ public class Task {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
     
+    // 楽観ロック用のバージョン（更新のたびに加算され、競合した更新はコミット時に失敗する）
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     /**
      * 優先度列挙型
      */
@@ -92,6 +130,7 @@ public class Task {
         this.priority = priority;
         this.category = category;
         this.tags = tags;
+        this.tagSet.addAll(parseTags(tags));
         this.dueDate = dueDate;
     }
     
@@ -144,6 +183,11 @@ public class Task {
     
     public String getTags() { return tags; }
     public void setTags(String tags) { 
+        // 変更がなければ正規化タグ（遅延読み込み）に触れない
+        if (!Objects.equals(this.tags, tags)) {
+            this.tagSet.clear();
+            this.tagSet.addAll(parseTags(tags));
+        }
         this.tags = tags;
         this.updatedAt = LocalDateTime.now();
     }
@@ -160,6 +204,9 @@ public class Task {
         this.updatedAt = LocalDateTime.now();
     }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     // ビジネスロジックメソッド
     public void markCompleted() {
         setCompleted(true);
@@ -169,16 +216,33 @@ public class Task {
         setCompleted(false);
     }
     
-    public boolean isOverdue() {
-        return dueDate != null && LocalDateTime.now().isAfter(dueDate) && !completed;
+    // 期限の判定（現在時刻は注入されたClockから渡す。応答のoverdue・dueTodayはSerializationConfigで付与する）
+    public boolean isOverdue(LocalDateTime now) {
+        return dueDate != null && now.isAfter(dueDate) && !completed;
     }
     
-    public boolean isDueToday() {
+    public boolean isDueToday(LocalDateTime now) {
         if (dueDate == null) return false;
-        LocalDateTime now = LocalDateTime.now();
         return dueDate.toLocalDate().equals(now.toLocalDate());
     }
     
+    /**
+     * カンマ区切りのタグを正規化して分解（NFKC正規化・前後の空白除去・小文字化、空のタグは除く）
+     */
+    public static Set<String> parseTags(String tags) {
+        Set<String> result = new LinkedHashSet<>();
+        if (tags == null) {
+            return result;
+        }
+        for (String tag : tags.split(",")) {
+            String normalized = Normalizer.normalize(tag, Normalizer.Form.NFKC).trim().toLowerCase(Locale.ROOT);
+            if (!normalized.isEmpty()) {
+                result.add(normalized);
+            }
+        }
+        return result;
+    }
+    
     // Object メソッドのオーバーライド
     @Override
     public boolean equals(Object o) {
@@ -206,6 +270,7 @@ public class Task {
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 ", dueDate=" + dueDate +
+                ", version=" + version +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.taskmanager.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * タスクIDの採番
+ * 通常はシーケンスから採番し、書き込みキューで受付時に採番済みのIDが設定されている場合はそのIDで登録する
+ */
+public class TaskIdGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (object instanceof Task task && task.getId() != null) {
+            return task.getId();
+        }
+        return super.generate(session, object);
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.entity;
+
+import org.hibernate.Interceptor;
+
+/**
+ * 採番済みのIDを持つ未登録のタスクを新規として扱わせるインターセプター
+ * Hibernateは生成IDが設定済みでバージョンが未設定のエンティティを不正な分離状態とみなすため、
+ * バージョン未設定（一度も登録されていない）のタスクは新規と判定する（IDはTaskIdGeneratorがそのまま使う）
+ */
+public class TaskIdInterceptor implements Interceptor {
+
+    @Override
+    public Boolean isTransient(Object entity) {
+        if (entity instanceof Task task && task.getId() != null && task.getVersion() == null) {
+            return Boolean.TRUE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskmanager.event;
+
+import java.util.Objects;
+
+/**
+ * タスク変更イベント
+ * TaskServiceが発行し、コミット後フック（@TransactionalEventListener）で購読する
+ */
+public class TaskChangeEvent {
+
+    /**
+     * 変更種別
+     */
+    public enum Type {
+        CREATED, UPDATED, TOGGLED, DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final TaskSnapshot before;
+    private final TaskSnapshot after;
+
+    public TaskChangeEvent(Type type, Long taskId, TaskSnapshot before, TaskSnapshot after) {
+        this.type = type;
+        this.taskId = taskId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static TaskChangeEvent created(TaskSnapshot after) {
+        return new TaskChangeEvent(Type.CREATED, after.getId(), null, after);
+    }
+
+    public static TaskChangeEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangeEvent(Type.UPDATED, after.getId(), before, after);
+    }
+
+    public static TaskChangeEvent toggled(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangeEvent(Type.TOGGLED, after.getId(), before, after);
+    }
+
+    public static TaskChangeEvent deleted(TaskSnapshot before) {
+        return new TaskChangeEvent(Type.DELETED, before.getId(), before, null);
+    }
+
+    // Getter メソッド
+    public Type getType() { return type; }
+    public Long getTaskId() { return taskId; }
+
+    /** 変更前の状態（作成時はnull） */
+    public TaskSnapshot getBefore() { return before; }
+
+    /** 変更後の状態（削除時はnull） */
+    public TaskSnapshot getAfter() { return after; }
+
+    /**
+     * カテゴリの集合が変わり得る変更か（作成・削除・カテゴリの変更）
+     */
+    public boolean mayChangeCategories() {
+        return before == null || after == null || !Objects.equals(before.getCategory(), after.getCategory());
+    }
+
+    @Override
+    public String toString() {
+        return "TaskChangeEvent{" +
+                "type=" + type +
+                ", taskId=" + taskId +
+                '}';
+    }
+}
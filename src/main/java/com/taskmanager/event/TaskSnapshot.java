@@ -0,0 +1,91 @@
+package com.taskmanager.event;
+
+import com.taskmanager.entity.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * 変更イベント・キャッシュに載せるタスクの不変スナップショット
+ * コミット後のリスナーやキャッシュが管理対象エンティティに触れずに済むよう値をコピーして保持する
+ */
+public final class TaskSnapshot {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final boolean completed;
+    private final Task.Priority priority;
+    private final String category;
+    private final String tags;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime dueDate;
+    private final Long version;
+
+    private TaskSnapshot(Task task) {
+        this.id = task.getId();
+        this.title = task.getTitle();
+        this.description = task.getDescription();
+        this.completed = task.isCompleted();
+        this.priority = task.getPriority();
+        this.category = task.getCategory();
+        this.tags = task.getTags();
+        this.createdAt = task.getCreatedAt();
+        this.updatedAt = task.getUpdatedAt();
+        this.dueDate = task.getDueDate();
+        this.version = task.getVersion();
+    }
+
+    private TaskSnapshot(TaskSnapshot source, boolean completed) {
+        this.id = source.id;
+        this.title = source.title;
+        this.description = source.description;
+        this.completed = completed;
+        this.priority = source.priority;
+        this.category = source.category;
+        this.tags = source.tags;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+        this.dueDate = source.dueDate;
+        this.version = source.version == null ? null : source.version - 1;
+    }
+
+    public static TaskSnapshot of(Task task) {
+        return task == null ? null : new TaskSnapshot(task);
+    }
+
+    /**
+     * 管理対象外の新しいタスクとして復元（キャッシュからの読み出し用）
+     */
+    public Task toTask() {
+        Task task = new Task(title, description, priority, category, tags, dueDate);
+        task.setId(id);
+        task.setCompleted(completed);
+        task.setCreatedAt(createdAt);
+        task.setVersion(version);
+        // 他のsetterが更新日時を現在時刻にするため最後に設定する
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+
+    /**
+     * 一括UPDATEで完了状態を反転した後のスナップショットから、反転前の状態を復元
+     * （更新日時は反転後の値のまま）
+     */
+    public TaskSnapshot beforeToggle() {
+        return new TaskSnapshot(this, !completed);
+    }
+
+    // Getter メソッド
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public boolean isCompleted() { return completed; }
+    public Task.Priority getPriority() { return priority; }
+    public String getCategory() { return category; }
+    public String getTags() { return tags; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getDueDate() { return dueDate; }
+    public Long getVersion() { return version; }
+}
@@ -0,0 +1,354 @@
+package com.taskmanager.feed;
+
+import com.taskmanager.dto.TaskChange;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.reminder.Reminder;
+import com.taskmanager.reminder.ReminderSink;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * タスク変更のServer-Sent Eventsフィード
+ * コミット済みの変更を購読者ごとのバッファに溜め、一定間隔でタスクごとにまとめて配信する。
+ * バッファが上限を超えた購読者には差分の代わりに再取得（resync）を通知する。
+ * 期限リマインダーは間引かずにreminderイベントとして即時に送る。
+ * 配信の判断はフィード専用のスレッドで行い、書き込みは購読者ごとに1件ずつ書き込み用のスレッドで行う。
+ * 書き込みが終わっていない購読者には次の配信を行わず（変更はバッファに溜まる）、
+ * write-timeoutを超えて書き込みが終わらない購読者は切断して他の購読者への配信を止めないようにする
+ */
+@Component
+public class TaskChangeFeed implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    // 再接続までの待ち時間（EventSourceのretry）
+    private static final long RECONNECT_MILLIS = 3000;
+
+    private final long timeoutMillis;
+
+    private final int bufferSize;
+
+    private final Duration flushInterval;
+
+    private final Duration heartbeatInterval;
+
+    private final long writeTimeoutNanos;
+
+    // 配信・ハートビート・リマインダー送信の判断を順に実行する専用スレッド
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 購読者への書き込み（購読者ごとに同時に1件まで。スレッド数は書き込み中の購読者数で抑えられる）
+    private final AtomicInteger writerCount = new AtomicInteger();
+    private final ExecutorService writers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "task-feed-writer-" + writerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public TaskChangeFeed(MeterRegistry meterRegistry,
+                          @Value("${taskmanager.feed.timeout:PT30M}") Duration timeout,
+                          @Value("${taskmanager.feed.buffer-size:256}") int bufferSize,
+                          @Value("${taskmanager.feed.flush-interval:PT0.2S}") Duration flushInterval,
+                          @Value("${taskmanager.feed.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                          @Value("${taskmanager.feed.write-timeout:PT10S}") Duration writeTimeout) {
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.flushInterval = flushInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        Gauge.builder("taskmanager.feed.subscribers", subscribers, Set::size)
+                .description("変更フィードの購読者数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 購読者1人分の未送信の変更（タスクIDごとに最新の変更のみ保持）と未送信のリマインダー、書き込みの状態
+     */
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final int bufferSize;
+        private final Map<Long, TaskChange> pending = new LinkedHashMap<>();
+        private final List<Reminder> reminders = new ArrayList<>();
+        private boolean overflow = false;
+        // 書き込みを始めた時刻（System.nanoTime、書き込み中でなければ0）
+        private long writingSince = 0;
+        // 切断済み（書き込み中に切断した場合は書き込みの終了後に完了させる）
+        private boolean closed = false;
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.bufferSize = bufferSize;
+        }
+
+        synchronized void offer(TaskChange change) {
+            if (overflow) {
+                return;
+            }
+            TaskChange merged = TaskChange.merge(pending.get(change.getId()), change);
+            if (merged == null) {
+                pending.remove(change.getId());
+            } else {
+                pending.put(change.getId(), merged);
+            }
+            if (pending.size() > bufferSize) {
+                pending.clear();
+                overflow = true;
+            }
+        }
+
+        synchronized void offer(Reminder reminder) {
+            if (overflow) {
+                return;
+            }
+            reminders.add(reminder);
+            if (reminders.size() > bufferSize) {
+                reminders.clear();
+                pending.clear();
+                overflow = true;
+            }
+        }
+
+        // 未送信のリマインダーを取り出す
+        synchronized List<Reminder> drainReminders() {
+            List<Reminder> drained = new ArrayList<>(reminders);
+            reminders.clear();
+            return drained;
+        }
+
+        // 未送信の変更を取り出す（あふれていた場合はnull）
+        synchronized List<TaskChange> drain() {
+            if (overflow) {
+                overflow = false;
+                reminders.clear();
+                return null;
+            }
+            List<TaskChange> changes = new ArrayList<>(pending.values());
+            pending.clear();
+            return changes;
+        }
+
+        // 書き込みを始められれば書き込み中にする（書き込み中・切断済みならfalse）
+        synchronized boolean startWriting(long now) {
+            if (writingSince != 0 || closed) {
+                return false;
+            }
+            writingSince = now;
+            return true;
+        }
+
+        // 書き込みを終え、書き込み中に切断されていればtrue
+        synchronized boolean finishWriting() {
+            writingSince = 0;
+            return closed;
+        }
+
+        // write-timeoutを超えて書き込みが終わっていないか
+        synchronized boolean isStalled(long now, long timeoutNanos) {
+            return writingSince != 0 && now - writingSince > timeoutNanos;
+        }
+
+        // 切断済みにし、書き込み中でなければtrue（呼び出し側で完了させる）
+        synchronized boolean close() {
+            closed = true;
+            return writingSince == 0;
+        }
+    }
+
+    /**
+     * 配信とハートビートを開始
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sender.scheduleWithFixedDelay(() -> runSafely(this::flush),
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        sender.scheduleWithFixedDelay(() -> runSafely(this::heartbeat),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // 例外で定期実行が止まらないようにする
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("変更フィードの配信に失敗しました", e);
+        }
+    }
+
+    /**
+     * 購読を開始
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        send(subscriber, SseEmitter.event().name("ready").reconnectTime(RECONNECT_MILLIS).data("{}"));
+        return emitter;
+    }
+
+    /**
+     * コミット済みの変更を各購読者のバッファへ追加
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangeEvent event) {
+        TaskChange change = TaskChange.of(event);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(change);
+        }
+    }
+
+    /**
+     * 期限リマインダーを全購読者へ送信（各購読者のバッファに追加して直ちに配信し、呼び出し側は待たない）
+     */
+    @Override
+    public void send(Reminder reminder) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(reminder);
+        }
+        try {
+            sender.execute(() -> runSafely(this::flush));
+        } catch (RejectedExecutionException e) {
+            // 停止中は送らない
+            log.debug("停止中のためリマインダーを送信しません: {}", reminder.getTaskId());
+        }
+    }
+
+    /**
+     * 溜まった変更を配信（間隔内の連続した変更はまとめて1回で送る）
+     * 前回の書き込みが終わっていない購読者は飛ばし、変更はバッファに残す
+     */
+    void flush() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (disconnectIfStalled(subscriber, now) || !subscriber.startWriting(now)) {
+                continue;
+            }
+            List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+            for (Reminder reminder : subscriber.drainReminders()) {
+                events.add(SseEmitter.event().id(nextId()).name("reminder").data(reminder, MediaType.APPLICATION_JSON));
+            }
+            List<TaskChange> changes = subscriber.drain();
+            if (changes == null) {
+                events.add(SseEmitter.event().id(nextId()).name("resync").data("{}"));
+            } else if (!changes.isEmpty()) {
+                events.add(SseEmitter.event().id(nextId()).name("tasks").data(changes, MediaType.APPLICATION_JSON));
+            }
+            write(subscriber, events);
+        }
+    }
+
+    /**
+     * 無通信による切断を防ぎ、切断済みの購読者を検出する（書き込み中の購読者には送らない）
+     */
+    void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (!disconnectIfStalled(subscriber, now) && subscriber.startWriting(now)) {
+                write(subscriber, List.of(SseEmitter.event().comment("heartbeat")));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        writers.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    // 書き込みが終わらない購読者を切断する（完了は書き込み中のスレッドが書き込みを終えた後に行う）
+    private boolean disconnectIfStalled(Subscriber subscriber, long now) {
+        if (!subscriber.isStalled(now, writeTimeoutNanos)) {
+            return false;
+        }
+        log.info("書き込みが終わらない変更フィードの購読者を切断しました");
+        subscribers.remove(subscriber);
+        subscriber.close();
+        return true;
+    }
+
+    // 書き込み中にした購読者へ書き込み用のスレッドで順に送る
+    private void write(Subscriber subscriber, List<SseEmitter.SseEventBuilder> events) {
+        if (events.isEmpty()) {
+            subscriber.finishWriting();
+            return;
+        }
+        try {
+            writers.execute(() -> {
+                try {
+                    for (SseEmitter.SseEventBuilder event : events) {
+                        if (!send(subscriber, event)) {
+                            break;
+                        }
+                    }
+                } finally {
+                    if (subscriber.finishWriting()) {
+                        subscriber.emitter.complete();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 停止中は送らない
+            subscriber.finishWriting();
+        }
+    }
+
+    private String nextId() {
+        return Long.toString(sequence.incrementAndGet());
+    }
+
+    // 送信できればtrue（切断済みのクライアントは購読を解除してfalse）
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("変更フィードの購読者を切断しました: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
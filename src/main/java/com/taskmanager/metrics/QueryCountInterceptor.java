@@ -0,0 +1,70 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * リクエストごとのSQL発行数を計測し、taskmanager.http.queries として記録するインターセプター
+ */
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enforce;
+
+    private final int defaultBudget;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry, boolean enforce, int defaultBudget) {
+        this.meterRegistry = meterRegistry;
+        this.enforce = enforce;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCounter.start(enforce ? budgetOf(handler) : 0);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        QueryCounter.Scope scope = QueryCounter.stop();
+        if (scope == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("taskmanager.http.queries")
+                .description("1リクエストあたりのSQL発行数")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(scope.getCount());
+    }
+
+    // 非同期処理（SSE・ストリーミング）の開始時はスレッドを返却するため計測を破棄する
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        QueryCounter.stop();
+    }
+
+    private int budgetOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (budget == null) {
+                budget = handlerMethod.getBeanType().getAnnotation(QueryBudget.class);
+            }
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+}
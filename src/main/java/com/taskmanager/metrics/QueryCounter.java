@@ -0,0 +1,53 @@
+package com.taskmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * リクエスト単位のSQL発行数カウンター
+ * Hibernateが発行するSQLを数え、予算の強制が有効な場合は上限を超えた時点で例外とする（N+1検出用）
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 計測範囲（予算が0以下の場合は計数のみ）
+     */
+    public static class Scope {
+        private final int budget;
+        private int count;
+
+        Scope(int budget) {
+            this.budget = budget;
+        }
+
+        public int getBudget() { return budget; }
+        public int getCount() { return count; }
+    }
+
+    public static void start(int budget) {
+        CURRENT.set(new Scope(budget));
+    }
+
+    /**
+     * 計測を終了して結果を返す（計測中でなければnull）
+     */
+    public static Scope stop() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+            if (scope.budget > 0 && scope.count > scope.budget) {
+                throw new IllegalStateException(
+                        "SQL発行数が予算を超えました: budget=" + scope.budget + ", sql=" + sql);
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskmanager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 応答時間に応じて同時実行数の上限を調整するリミッター（勾配方式）
+ * 一定間隔ごとの平均応答時間（短期）と、その指数移動平均（長期）を比べ、
+ * 短期が長期の許容倍率を超えて遅くなれば上限を下げ、余裕があり上限近くまで使われていれば上げる。
+ * 上限を超えるリクエストはキューで待たせずに即座に拒否する
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // 長期の応答時間の平滑化係数とリミットの変化の平滑化係数
+    private static final double LONG_RTT_ALPHA = 0.05;
+    private static final double SMOOTHING = 0.2;
+
+    // 1回の調整に使う最小のサンプル数
+    private static final int MIN_SAMPLES = 10;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final long windowNanos;
+
+    private volatile double limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // 現在の集計区間の応答時間の合計・件数・最大同時実行数
+    private final LongAdder windowSum = new LongAdder();
+    private final LongAdder windowCount = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowStart;
+
+    // 長期の応答時間（調整はwindowStartのCASに成功した1スレッドのみが行うが、区間ごとに別のスレッドになるためvolatileとする）
+    private volatile double longRttNanos = 0;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                    long windowNanos, long nowNanos) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+        this.windowStart = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 実行枠を確保（上限に達している場合はfalse）
+     */
+    public boolean tryAcquire() {
+        int max = (int) limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 実行枠を返却し、応答時間を記録する
+     */
+    public void release(long latencyNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        windowSum.add(latencyNanos);
+        windowCount.increment();
+        long start = windowStart.get();
+        if (nowNanos - start >= windowNanos && windowStart.compareAndSet(start, nowNanos)) {
+            update();
+        }
+    }
+
+    /**
+     * 応答時間を記録せずに実行枠を返却（非同期処理に移ったリクエストなど）
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update() {
+        long count = windowCount.sumThenReset();
+        long sum = windowSum.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        if (count < MIN_SAMPLES) {
+            return;
+        }
+        double shortRtt = (double) sum / count;
+        double longRtt = longRttNanos;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt = longRtt * (1 - LONG_RTT_ALPHA) + shortRtt * LONG_RTT_ALPHA;
+        }
+        // 負荷が下がった後は長期の値が高止まりしないよう早めに追従させる
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        // 上限の半分も使っていない間は遅延が増えていない限り上限を上げない
+        if (gradient == 1.0 && maxInFlight < current / 2) {
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,129 @@
+package com.taskmanager.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * APIの入口でレート制限（429）と同時実行数による負荷制限（503）を行うインターセプター
+ * 拒否したリクエストは taskmanager.ratelimit.rejected として理由・エンドポイント別に数える
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".start";
+
+    private final RateLimiter rateLimiter;
+
+    // nullの場合は同時実行数を制限しない
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final MeterRegistry meterRegistry;
+
+    private final String clientIdHeader;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, AdaptiveConcurrencyLimit concurrencyLimit,
+                                MeterRegistry meterRegistry, String clientIdHeader) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.meterRegistry = meterRegistry;
+        this.clientIdHeader = clientIdHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 非同期処理の完了後の再ディスパッチは入口で確認済み
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String clientId = clientIdOf(request);
+        String endpoint = request.getMethod() + ' ' + patternOf(request);
+        int cost = costOf(handler);
+
+        RateLimiter.Rejection rejection = rateLimiter.tryAcquire(clientId, endpoint, cost);
+        if (rejection != null) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(rejection.getRetryAfterNanos() + 999_999_999L));
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, rejection.getReason().name(), seconds);
+            return false;
+        }
+        if (concurrencyLimit != null) {
+            if (!concurrencyLimit.tryAcquire()) {
+                // 処理していないリクエストでクライアントの予算を減らさない
+                rateLimiter.refund(clientId, endpoint, cost);
+                reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "CONCURRENCY", 1);
+                return false;
+            }
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            long now = System.nanoTime();
+            concurrencyLimit.release(now - (Long) start, now);
+        }
+    }
+
+    // 非同期処理（SSE・ストリーミング）の開始時はスレッドを返却するため、応答時間を記録せずに枠を返す
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            concurrencyLimit.release();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        HttpStatus status, String reason, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        Counter.builder("taskmanager.ratelimit.rejected")
+                .description("レート制限・負荷制限で拒否したリクエスト数")
+                .tag("reason", reason)
+                .tag("uri", patternOf(request))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String clientIdOf(HttpServletRequest request) {
+        if (!clientIdHeader.isEmpty()) {
+            String clientId = request.getHeader(clientIdHeader);
+            if (clientId != null && !clientId.isBlank()) {
+                return clientId;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String patternOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    private static int costOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RequestCost cost = handlerMethod.getMethodAnnotation(RequestCost.class);
+            if (cost == null) {
+                cost = handlerMethod.getBeanType().getAnnotation(RequestCost.class);
+            }
+            if (cost != null) {
+                return cost.value();
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,119 @@
+package com.taskmanager.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * クライアントごとのレート制限
+ * クライアント全体のバケットと、クライアント × エンドポイントのバケットの両方からコストを消費する。
+ * 一方のバケットで拒否した場合はもう一方に消費分を戻すため、拒否されたリクエストは予算を減らさない
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * 拒否の理由
+     */
+    public enum Reason {
+        CLIENT, ENDPOINT
+    }
+
+    /**
+     * 拒否の内容（再試行までの待ち時間を含む）
+     */
+    public static final class Rejection {
+        private final Reason reason;
+        private final long retryAfterNanos;
+
+        Rejection(Reason reason, long retryAfterNanos) {
+            this.reason = reason;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+
+        public long getRetryAfterNanos() {
+            return retryAfterNanos;
+        }
+    }
+
+    private final int clientCapacity;
+
+    private final double clientRefillPerSecond;
+
+    private final int endpointCapacity;
+
+    private final double endpointRefillPerSecond;
+
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+
+    private final Map<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(@Value("${taskmanager.rate-limit.client.capacity:200}") int clientCapacity,
+                       @Value("${taskmanager.rate-limit.client.refill-per-second:100}") double clientRefillPerSecond,
+                       @Value("${taskmanager.rate-limit.endpoint.capacity:100}") int endpointCapacity,
+                       @Value("${taskmanager.rate-limit.endpoint.refill-per-second:50}") double endpointRefillPerSecond) {
+        if (clientCapacity < 1 || endpointCapacity < 1 || clientRefillPerSecond <= 0 || endpointRefillPerSecond <= 0) {
+            throw new IllegalArgumentException("taskmanager.rate-limitの容量と補充速度は正の値で指定してください");
+        }
+        this.clientCapacity = clientCapacity;
+        this.clientRefillPerSecond = clientRefillPerSecond;
+        this.endpointCapacity = endpointCapacity;
+        this.endpointRefillPerSecond = endpointRefillPerSecond;
+    }
+
+    /**
+     * コストを消費（許可した場合はnull）
+     */
+    public Rejection tryAcquire(String clientId, String endpoint, int cost) {
+        long now = System.nanoTime();
+        TokenBucket client = clientBuckets.computeIfAbsent(clientId,
+                key -> new TokenBucket(clientCapacity, clientRefillPerSecond, now));
+        long wait = client.tryConsume(cost, now);
+        if (wait > 0) {
+            return new Rejection(Reason.CLIENT, wait);
+        }
+        TokenBucket perEndpoint = endpointBuckets.computeIfAbsent(clientId + ' ' + endpoint,
+                key -> new TokenBucket(endpointCapacity, endpointRefillPerSecond, now));
+        wait = perEndpoint.tryConsume(cost, now);
+        if (wait > 0) {
+            client.refund(cost);
+            return new Rejection(Reason.ENDPOINT, wait);
+        }
+        return null;
+    }
+
+    /**
+     * 消費したコストを戻す（後段の同時実行数の制限で拒否した場合）
+     */
+    public void refund(String clientId, String endpoint, int cost) {
+        TokenBucket client = clientBuckets.get(clientId);
+        if (client != null) {
+            client.refund(cost);
+        }
+        TokenBucket perEndpoint = endpointBuckets.get(clientId + ' ' + endpoint);
+        if (perEndpoint != null) {
+            perEndpoint.refund(cost);
+        }
+    }
+
+    /**
+     * 満杯に戻ったバケットを破棄（次のリクエストで満杯のバケットを作り直すのと同じため挙動は変わらない）
+     */
+    @Scheduled(fixedRateString = "${taskmanager.rate-limit.sweep-interval:PT1M}")
+    public void sweep() {
+        long now = System.nanoTime();
+        clientBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        endpointBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public int getBucketCount() {
+        return clientBuckets.size() + endpointBuckets.size();
+    }
+}
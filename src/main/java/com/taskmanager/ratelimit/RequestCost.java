@@ -0,0 +1,16 @@
+package com.taskmanager.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 1リクエストで消費するレート制限のトークン数（既定は1。検索・集計など重い処理に大きな値を指定する）
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestCost {
+
+    int value();
+}
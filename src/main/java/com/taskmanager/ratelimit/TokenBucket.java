@@ -0,0 +1,65 @@
+package com.taskmanager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ロックを使わないトークンバケット（GCRA: 汎用セル速度アルゴリズム）
+ * 残りトークン数の代わりに「バケットが満杯に戻る理論上の時刻」を1つのlongで保持し、
+ * 消費はCASで時刻を進めるだけで済むため、同じクライアントの同時リクエストでも待ち合わせない
+ */
+public class TokenBucket {
+
+    // 1トークンが補充されるまでの時間
+    private final long emissionIntervalNanos;
+
+    // 満杯から使い切るまでに進められる時間（容量 × emissionInterval）
+    private final long burstNanos;
+
+    private final int capacity;
+
+    // バケットが満杯に戻る時刻（System.nanoTime基準、これより前なら満杯）
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * トークンを消費（消費できた場合は0、足りない場合は消費できるまでの待ち時間をナノ秒で返す）
+     * 容量を超えるコストは容量として扱う
+     */
+    public long tryConsume(int cost, long nowNanos) {
+        long increment = emissionIntervalNanos * Math.min(cost, capacity);
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 消費したトークンを戻す（後段の制限で拒否した場合）
+     */
+    public void refund(int cost) {
+        fullAt.addAndGet(-emissionIntervalNanos * Math.min(cost, capacity));
+    }
+
+    /**
+     * 満杯か（満杯のバケットは新しいバケットと同じため破棄してよい）
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
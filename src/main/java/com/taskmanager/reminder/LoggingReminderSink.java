@@ -0,0 +1,24 @@
+package com.taskmanager.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * リマインダーをログに出力する通知先
+ */
+@Component
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void send(Reminder reminder) {
+        switch (reminder.getType()) {
+            case DUE_SOON -> log.info("期限が近づいています: id={}, title={}, dueDate={}",
+                    reminder.getTaskId(), reminder.getTitle(), reminder.getDueDate());
+            case OVERDUE -> log.info("期限を過ぎました: id={}, title={}, dueDate={}",
+                    reminder.getTaskId(), reminder.getTitle(), reminder.getDueDate());
+        }
+    }
+}
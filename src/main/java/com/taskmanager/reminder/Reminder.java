@@ -0,0 +1,49 @@
+package com.taskmanager.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 期限リマインダー（ReminderSinkへ渡す通知内容）
+ */
+public class Reminder {
+
+    /**
+     * 通知種別
+     */
+    public enum Type {
+        /** 期限が近づいた（taskmanager.reminder.due-soon-lead前） */
+        DUE_SOON,
+        /** 期限を過ぎた */
+        OVERDUE
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final String title;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime firedAt;
+
+    public Reminder(Type type, Long taskId, String title, LocalDateTime dueDate, LocalDateTime firedAt) {
+        this.type = type;
+        this.taskId = taskId;
+        this.title = title;
+        this.dueDate = dueDate;
+        this.firedAt = firedAt;
+    }
+
+    // Getter メソッド
+    public Type getType() { return type; }
+    public Long getTaskId() { return taskId; }
+    public String getTitle() { return title; }
+    public LocalDateTime getDueDate() { return dueDate; }
+    public LocalDateTime getFiredAt() { return firedAt; }
+
+    @Override
+    public String toString() {
+        return "Reminder{" +
+                "type=" + type +
+                ", taskId=" + taskId +
+                ", dueDate=" + dueDate +
+                '}';
+    }
+}
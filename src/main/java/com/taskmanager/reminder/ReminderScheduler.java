@@ -0,0 +1,201 @@
+package com.taskmanager.reminder;
+
+import com.taskmanager.dto.TaskSummary;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 期限リマインダーのスケジューラー
+ * 未完了タスクの次の通知（期限間近 → 期限切れ）をタイミングホイールに登録し、
+ * 期限が到来したものをReminderSinkへ通知する。登録は起動時に1回だけデータベースから読み込み、
+ * 以降はタスク変更のコミット後に差分で更新するため、定期的な表の走査は行わない。
+ * 読み込みが終わるまでに届いた変更は保留し、読み込んだ内容を登録した後に順に反映する
+ */
+@Component
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final TaskRepository taskRepository;
+
+    private final Clock clock;
+
+    private final List<ReminderSink> sinks;
+
+    private final Duration dueSoonLead;
+
+    // タスクID → 次の通知（アクセスはwheelで同期する）
+    private final TimingWheel<Long, Pending> wheel;
+
+    private final Map<Reminder.Type, Counter> firedCounters = new EnumMap<>(Reminder.Type.class);
+
+    // 起動時の読み込みが終わるまでに届いた変更（読み込み後はnull、アクセスはwheelで同期する）
+    private List<TaskChangeEvent> deferred = new ArrayList<>();
+
+    /**
+     * 登録中の通知（期限は通知内容に含めるため値として保持する）
+     */
+    private static final class Pending {
+        private final Reminder.Type type;
+        private final String title;
+        private final LocalDateTime dueDate;
+
+        Pending(Reminder.Type type, String title, LocalDateTime dueDate) {
+            this.type = type;
+            this.title = title;
+            this.dueDate = dueDate;
+        }
+    }
+
+    public ReminderScheduler(TaskRepository taskRepository,
+                             Clock clock,
+                             List<ReminderSink> sinks,
+                             MeterRegistry meterRegistry,
+                             @Value("${taskmanager.reminder.tick:PT1S}") Duration tick,
+                             @Value("${taskmanager.reminder.due-soon-lead:PT1H}") Duration dueSoonLead) {
+        this.taskRepository = taskRepository;
+        this.clock = clock;
+        this.sinks = sinks;
+        this.dueSoonLead = dueSoonLead;
+        this.wheel = new TimingWheel<>(tick.toMillis(), clock.millis());
+        Gauge.builder("taskmanager.reminder.scheduled", this, ReminderScheduler::getScheduledCount)
+                .description("登録中の期限リマインダー数")
+                .register(meterRegistry);
+        for (Reminder.Type type : Reminder.Type.values()) {
+            firedCounters.put(type, Counter.builder("taskmanager.reminder.fired")
+                    .description("通知した期限リマインダー数")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 起動時に期限が未到来の未完了タスクを登録
+     * （起動前に期限間近の時間帯に入っていたタスクは通知済みとみなし、期限切れの通知のみ登録する）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<TaskSummary> upcoming = List.of();
+        try {
+            upcoming = taskRepository.findUpcomingSummaries(now);
+        } finally {
+            // 読み込みに失敗しても保留した変更は反映し、以降の変更を保留し続けないようにする
+            synchronized (wheel) {
+                for (TaskSummary task : upcoming) {
+                    Reminder.Type type = now.isBefore(task.getDueDate().minus(dueSoonLead))
+                            ? Reminder.Type.DUE_SOON : Reminder.Type.OVERDUE;
+                    schedule(task.getId(), new Pending(type, task.getTitle(), task.getDueDate()));
+                }
+                // 保留した変更は読み込んだ内容と同じか新しいため、上書きするよう後から反映する
+                for (TaskChangeEvent event : deferred) {
+                    apply(event);
+                }
+                deferred = null;
+            }
+        }
+        log.info("期限リマインダーを登録しました: tasks={}", upcoming.size());
+    }
+
+    /**
+     * コミット済みの変更を反映（完了・削除・期限なしは取消、期限の変更は登録し直す）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangeEvent event) {
+        synchronized (wheel) {
+            if (deferred != null) {
+                deferred.add(event);
+                return;
+            }
+            apply(event);
+        }
+    }
+
+    /**
+     * ホイールを現在時刻まで進め、期限が到来した通知を送る
+     */
+    @Scheduled(fixedRateString = "${taskmanager.reminder.tick:PT1S}")
+    public void tick() {
+        List<Reminder> fired = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now(clock);
+        synchronized (wheel) {
+            wheel.advance(clock.millis(), (taskId, pending) ->
+                    fired.add(new Reminder(pending.type, taskId, pending.title, pending.dueDate, now)));
+            // 期限間近を通知したタスクは続けて期限切れを登録する
+            for (Reminder reminder : fired) {
+                if (reminder.getType() == Reminder.Type.DUE_SOON) {
+                    schedule(reminder.getTaskId(),
+                            new Pending(Reminder.Type.OVERDUE, reminder.getTitle(), reminder.getDueDate()));
+                }
+            }
+        }
+        // 通知先の処理はロックの外で行い、タスク変更の反映を待たせない
+        for (Reminder reminder : fired) {
+            firedCounters.get(reminder.getType()).increment();
+            for (ReminderSink sink : sinks) {
+                try {
+                    sink.send(reminder);
+                } catch (RuntimeException e) {
+                    log.warn("リマインダーの通知に失敗しました: sink={}, {}", sink.getClass().getSimpleName(), reminder, e);
+                }
+            }
+        }
+    }
+
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // 呼び出し側でwheelを同期すること
+    private void apply(TaskChangeEvent event) {
+        TaskSnapshot before = event.getBefore();
+        TaskSnapshot after = event.getAfter();
+        if (after == null || after.isCompleted() || after.getDueDate() == null) {
+            wheel.cancel(event.getTaskId());
+            return;
+        }
+        if (before != null && !before.isCompleted() && Objects.equals(before.getDueDate(), after.getDueDate())) {
+            // 期限が変わらない変更では通知済みのものを繰り返さず、未通知のもののタイトルのみ更新する
+            Pending pending = wheel.get(event.getTaskId());
+            if (pending != null) {
+                wheel.replaceValue(event.getTaskId(), new Pending(pending.type, after.getTitle(), pending.dueDate));
+            }
+            return;
+        }
+        // 作成・再開・期限の変更（既に期限間近・期限切れであれば次のtickで通知する）
+        LocalDateTime now = LocalDateTime.now(clock);
+        Reminder.Type type = now.isBefore(after.getDueDate()) ? Reminder.Type.DUE_SOON : Reminder.Type.OVERDUE;
+        schedule(event.getTaskId(), new Pending(type, after.getTitle(), after.getDueDate()));
+    }
+
+    // 呼び出し側でwheelを同期すること
+    private void schedule(Long taskId, Pending pending) {
+        LocalDateTime fireAt = pending.type == Reminder.Type.DUE_SOON
+                ? pending.dueDate.minus(dueSoonLead)
+                : pending.dueDate;
+        wheel.schedule(taskId, fireAt.atZone(clock.getZone()).toInstant().toEpochMilli(), pending);
+    }
+}
@@ -0,0 +1,10 @@
+package com.taskmanager.reminder;
+
+/**
+ * リマインダーの通知先
+ * Beanとして登録したすべての通知先にReminderSchedulerのスレッドから順に渡す（長時間ブロックしないこと）
+ */
+public interface ReminderSink {
+
+    void send(Reminder reminder);
+}
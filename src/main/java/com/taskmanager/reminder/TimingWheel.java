@@ -0,0 +1,211 @@
+package com.taskmanager.reminder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 階層型タイミングホイール（スレッドセーフではないため呼び出し側で同期すること）
+ * 期限をtick単位に丸め、近いものは下位のホイール、遠いものは上位のホイールのスロットに置く。
+ * 上位のスロットは下位のホイールが一周するたびに下位へ振り分け直すため、
+ * 登録・取消・1tickの前進はいずれも登録数によらず定数時間で済む
+ *
+ * @param <K> キー（同じキーの再登録は置き換え）
+ * @param <V> 期限到来時に渡す値
+ */
+public class TimingWheel<K, V> {
+
+    // 1段あたりのスロット数（2^BITS）と段数。tickが1秒なら約194日先までを段の範囲で保持する
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (BITS * LEVELS)) - 1;
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final long deadlineTick;
+        private V value;
+        private Entry<K, V> prev;
+        private Entry<K, V> next;
+        private Slot<K, V> slot;
+
+        Entry(K key, long deadlineTick, V value) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+
+    // スロット内の要素は双方向リストでつなぎ、取消時に走査せず外せるようにする
+    private static final class Slot<K, V> {
+        private Entry<K, V> head;
+
+        void add(Entry<K, V> entry) {
+            entry.slot = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        void remove(Entry<K, V> entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.slot = null;
+        }
+
+        // スロットを空にして先頭を返す
+        Entry<K, V> detachAll() {
+            Entry<K, V> first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    private final long tickMillis;
+
+    @SuppressWarnings("unchecked")
+    private final Slot<K, V>[][] wheels = new Slot[LEVELS][SLOTS];
+
+    // 現在時刻で既に期限を過ぎている登録（次の前進で取り出す）
+    private final Slot<K, V> expired = new Slot<>();
+
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+
+    // 次に処理するtick（これより前のtickは処理済み）
+    private long nextTick;
+
+    public TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.nextTick = nowMillis / tickMillis + 1;
+        for (Slot<K, V>[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = new Slot<>();
+            }
+        }
+    }
+
+    /**
+     * 期限（エポックミリ秒）を登録（同じキーの登録は置き換える）
+     */
+    public void schedule(K key, long deadlineMillis, V value) {
+        cancel(key);
+        // tickの途中の期限は次のtickで発火させる（早く発火しないよう切り上げる）
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Entry<K, V> entry = new Entry<>(key, deadlineTick, value);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    /**
+     * 登録を取り消す（取り消した場合はtrue）
+     */
+    public boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.slot.remove(entry);
+        return true;
+    }
+
+    /**
+     * 登録済みの値（未登録はnull）
+     */
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * 期限を変えずに値を置き換える（未登録の場合はfalse）
+     */
+    public boolean replaceValue(K key, V value) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.value = value;
+        return true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 現在時刻までtickを進め、期限が到来した登録を取り除いてactionに渡す
+     * （停止していた間の分もtickごとに処理するため取りこぼさない）
+     */
+    public void advance(long nowMillis, BiConsumer<K, V> action) {
+        fire(expired, action);
+        long targetTick = nowMillis / tickMillis;
+        while (nextTick <= targetTick) {
+            long tick = nextTick;
+            // 下位のホイールが一周したら上位のスロットを振り分け直す
+            for (int level = 1; level < LEVELS; level++) {
+                if (((tick >>> (BITS * (level - 1))) & MASK) != 0) {
+                    break;
+                }
+                cascade(wheels[level][(int) ((tick >>> (BITS * level)) & MASK)]);
+            }
+            // 発火中に登録された同じtickの期限は処理済みのスロットではなくexpiredに入るよう先に進める
+            nextTick = tick + 1;
+            fire(wheels[0][(int) (tick & MASK)], action);
+        }
+    }
+
+    private void cascade(Slot<K, V> slot) {
+        Entry<K, V> entry = slot.detachAll();
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void fire(Slot<K, V> slot, BiConsumer<K, V> action) {
+        Entry<K, V> entry = slot.detachAll();
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            entries.remove(entry.key);
+            entry.slot = null;
+            action.accept(entry.key, entry.value);
+            entry = next;
+        }
+    }
+
+    private void place(Entry<K, V> entry) {
+        long delta = entry.deadlineTick - nextTick;
+        if (delta < 0) {
+            expired.add(entry);
+            return;
+        }
+        // 最上位の範囲を超える期限は最上位の最も遠いスロットに置き、振り分け直すたびに再計算する
+        if (delta > MAX_DELTA) {
+            delta = MAX_DELTA;
+        }
+        long tick = nextTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) {
+            level++;
+        }
+        wheels[level][(int) ((tick >>> (BITS * level)) & MASK)].add(entry);
+    }
+}
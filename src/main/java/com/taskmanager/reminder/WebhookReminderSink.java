@@ -0,0 +1,69 @@
+package com.taskmanager.reminder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * リマインダーをJSONでWebhookにPOSTする通知先（taskmanager.reminder.webhook.url設定時のみ有効）
+ * 送信は非同期で結果を待たず、失敗はログに残すのみで再送しない
+ */
+@Component
+@ConditionalOnProperty("taskmanager.reminder.webhook.url")
+public class WebhookReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookReminderSink.class);
+
+    private final URI url;
+
+    private final Duration timeout;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient;
+
+    public WebhookReminderSink(ObjectMapper objectMapper,
+                               @Value("${taskmanager.reminder.webhook.url}") URI url,
+                               @Value("${taskmanager.reminder.webhook.timeout:PT5S}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void send(Reminder reminder) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(reminder);
+        } catch (JsonProcessingException e) {
+            log.warn("リマインダーのシリアライズに失敗しました: {}", reminder, e);
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        log.warn("Webhookへのリマインダー送信に失敗しました: {}, {}", reminder, e.toString());
+                    } else if (response.statusCode() >= 300) {
+                        log.warn("Webhookがエラーを返しました: {}, status={}", reminder, response.statusCode());
+                    }
+                });
+    }
+}
@@ -0,0 +1,174 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskSummary;
+import com.taskmanager.entity.ArchivedTask;
+import com.taskmanager.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * 退避済みタスクリポジトリインターフェース
+ * 検索はTaskRepositoryの完了済みの部分と同じ並び順（priority, createdAt, id）で返す。
+ * tasksとの間の移動は列を読み込まずにINSERT ... SELECTで行う
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    // 複合検索（フィルター機能用）
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ArchivedTask a WHERE " +
+           "(:priority IS NULL OR a.priority = :priority) AND " +
+           "(:category IS NULL OR a.category = :category) " +
+           "ORDER BY a.priority DESC, a.createdAt DESC, a.id DESC")
+    List<ArchivedTask> findByFilters(@Param("priority") Task.Priority priority,
+                                     @Param("category") String category);
+
+    // タグでの絞り込み（TaskRepository.findByTagsと同じ条件）
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ArchivedTask a WHERE " +
+           "(:priority IS NULL OR a.priority = :priority) AND " +
+           "(:category IS NULL OR a.category = :category) AND " +
+           "a.id IN (SELECT aa.id FROM ArchivedTask aa JOIN aa.tagSet tag WHERE tag IN :tags " +
+           "         GROUP BY aa.id HAVING COUNT(tag) >= :minMatches) " +
+           "ORDER BY a.priority DESC, a.createdAt DESC, a.id DESC")
+    List<ArchivedTask> findByTags(@Param("priority") Task.Priority priority,
+                                  @Param("category") String category,
+                                  @Param("tags") Collection<String> tags,
+                                  @Param("minMatches") long minMatches);
+
+    // 複合検索の要約射影
+    @Query("SELECT new com.taskmanager.dto.TaskSummary(a.id, a.title, a.priority, true, a.dueDate, a.category, a.createdAt) " +
+           "FROM ArchivedTask a WHERE " +
+           "(:priority IS NULL OR a.priority = :priority) AND " +
+           "(:category IS NULL OR a.category = :category) " +
+           "ORDER BY a.priority DESC, a.createdAt DESC, a.id DESC")
+    List<TaskSummary> findSummariesByFilters(@Param("priority") Task.Priority priority,
+                                             @Param("category") String category);
+
+    // ID指定の要約射影（検索インデックスのヒット取得用）
+    @Query("SELECT new com.taskmanager.dto.TaskSummary(a.id, a.title, a.priority, true, a.dueDate, a.category, a.createdAt) " +
+           "FROM ArchivedTask a WHERE a.id IN :ids")
+    List<TaskSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // キーセットページング（afterIdがnullなら先頭から）
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ArchivedTask a WHERE " +
+           "(:priority IS NULL OR a.priority = :priority) AND " +
+           "(:category IS NULL OR a.category = :category) AND " +
+           "(:filterIds = false OR a.id IN :ids) AND " +
+           "(:afterId IS NULL OR a.priority < :afterPriority OR " +
+           " (a.priority = :afterPriority AND (a.createdAt < :afterCreatedAt OR " +
+           "  (a.createdAt = :afterCreatedAt AND a.id < :afterId)))) " +
+           "ORDER BY a.priority DESC, a.createdAt DESC, a.id DESC")
+    List<ArchivedTask> findPageByFilters(@Param("priority") Task.Priority priority,
+                                         @Param("category") String category,
+                                         @Param("filterIds") boolean filterIds,
+                                         @Param("ids") Collection<Long> ids,
+                                         @Param("afterPriority") Task.Priority afterPriority,
+                                         @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    // ストリーミング取得（JDBCカーソルで1行ずつ読み出す）
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM ArchivedTask a WHERE " +
+           "(:priority IS NULL OR a.priority = :priority) AND " +
+           "(:category IS NULL OR a.category = :category) AND " +
+           "(:filterIds = false OR a.id IN :ids) " +
+           "ORDER BY a.priority DESC, a.createdAt DESC, a.id DESC")
+    Stream<ArchivedTask> streamByFilters(@Param("priority") Task.Priority priority,
+                                         @Param("category") String category,
+                                         @Param("filterIds") boolean filterIds,
+                                         @Param("ids") Collection<Long> ids);
+
+    // 全件ストリーミング取得（検索インデックスの再構築用）
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM ArchivedTask a")
+    Stream<ArchivedTask> streamAll();
+
+    // カテゴリ別の件数
+    @Query("SELECT a.category, COUNT(a) FROM ArchivedTask a GROUP BY a.category")
+    List<Object[]> getTaskCountByCategory();
+
+    // 優先度別の件数
+    @Query("SELECT a.priority, COUNT(a) FROM ArchivedTask a GROUP BY a.priority")
+    List<Object[]> getTaskCountByPriority();
+
+    // カテゴリ×優先度ごとの件数（統計の一括集計用。退避済みのタスクは完了済みのため期限切れは数えない）
+    @Query("SELECT a.category, a.priority, COUNT(a) FROM ArchivedTask a GROUP BY a.category, a.priority")
+    List<Object[]> aggregateStatistics();
+
+    // タグ別の件数
+    @Query("SELECT tag, COUNT(a) FROM ArchivedTask a JOIN a.tagSet tag GROUP BY tag")
+    List<Object[]> getTagCounts();
+
+    // 退避対象のタスクIDを古い順にロックして取得（利用者の更新中の行は待たずに飛ばす）
+    @Query(nativeQuery = true, value =
+           "SELECT id FROM tasks WHERE completed = TRUE AND updated_at < :cutoff " +
+           "ORDER BY updated_at, id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED")
+    List<Long> lockArchivable(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // tasksの行を退避テーブルへ複写（ロック済みの行に対して呼ぶ）
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO archived_tasks (id, title, description, priority, category, tags, " +
+           "                            created_at, updated_at, due_date, version, archived_at) " +
+           "SELECT id, title, description, priority, category, tags, " +
+           "       created_at, updated_at, due_date, version, :archivedAt " +
+           "FROM tasks WHERE id IN (:ids)")
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO archived_task_tags (task_id, tag) SELECT task_id, tag FROM task_tags WHERE task_id IN (:ids)")
+    int copyTagsFromTasks(@Param("ids") Collection<Long> ids);
+
+    // tasksから削除（task_tagsは外部キーのON DELETE CASCADEで削除される）
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM tasks WHERE id IN (:ids)")
+    int deleteFromTasks(@Param("ids") Collection<Long> ids);
+
+    // 復元対象の行をロックして取得（同じタスクの同時復元は後の方が待ち、復元済みとして空を受け取る）
+    @Query(nativeQuery = true, value = "SELECT id FROM archived_tasks WHERE id IN (:ids) FOR UPDATE")
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 退避テーブルの行をtasksへ複写（ロック済みの行に対して呼ぶ）
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO tasks (id, title, description, completed, priority, category, tags, " +
+           "                   created_at, updated_at, due_date, version) " +
+           "SELECT id, title, description, TRUE, priority, category, tags, " +
+           "       created_at, updated_at, due_date, version " +
+           "FROM archived_tasks WHERE id IN (:ids)")
+    int copyToTasks(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value =
+           "INSERT INTO task_tags (task_id, tag) SELECT task_id, tag FROM archived_task_tags WHERE task_id IN (:ids)")
+    int copyTagsToTasks(@Param("ids") Collection<Long> ids);
+
+    // 退避テーブルから削除（archived_task_tagsは外部キーのON DELETE CASCADEで削除される）
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM archived_tasks WHERE id IN (:ids)")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
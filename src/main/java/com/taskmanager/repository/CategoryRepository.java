@@ -0,0 +1,39 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * カテゴリリポジトリインターフェース
+ */
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, String> {
+
+    // タスクが1件以上あるカテゴリ名（名前順）
+    @Query("SELECT c.name FROM Category c WHERE c.taskCount > 0 ORDER BY c.name")
+    List<String> findNamesInUse();
+
+    // タスクが1件以上あるカテゴリと件数（名前順）
+    @Query("SELECT c FROM Category c WHERE c.taskCount > 0 ORDER BY c.name")
+    List<Category> findAllInUse();
+
+    // 登録済みのカテゴリ名（件数0を含む）
+    @Query("SELECT c.name FROM Category c")
+    List<String> findAllNames();
+
+    // 件数に差分を加算
+    @Transactional
+    @Modifying
+    @Query("UPDATE Category c SET c.taskCount = c.taskCount + :taskDelta, " +
+           "c.openTaskCount = c.openTaskCount + :openDelta WHERE c.name = :name")
+    int addCounts(@Param("name") String name,
+                  @Param("taskDelta") long taskDelta,
+                  @Param("openDelta") long openDelta);
+}
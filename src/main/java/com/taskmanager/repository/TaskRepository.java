@@ -1,13 +1,23 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.TaskSummary;
 import com.taskmanager.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * タスクリポジトリインターフェース
@@ -33,12 +43,18 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByKeyword(@Param("keyword") String keyword);
     
     // 期限切れタスクを検索
-    @Query("SELECT t FROM Task t WHERE t.dueDate < :now AND t.completed = false")
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Task t WHERE t.completed = false AND t.dueDate < :now ORDER BY t.dueDate ASC")
     List<Task> findOverdueTasks(@Param("now") LocalDateTime now);
     
-    // 今日が期限のタスクを検索
-    @Query("SELECT t FROM Task t WHERE DATE(t.dueDate) = DATE(:today) AND t.completed = false")
-    List<Task> findTasksDueToday(@Param("today") LocalDateTime today);
+    // 期限切れタスクの件数
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.completed = false AND t.dueDate < :now")
+    long countOverdueTasks(@Param("now") LocalDateTime now);
+    
+    // 期限が[from, to)の範囲にある未完了タスクを検索（due_dateのインデックス範囲走査）
+    @Query("SELECT t FROM Task t WHERE t.completed = false AND t.dueDate >= :from AND t.dueDate < :to " +
+           "ORDER BY t.dueDate ASC")
+    List<Task> findTasksDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
     
     // カテゴリ別の統計情報
     @Query("SELECT t.category, COUNT(t) FROM Task t GROUP BY t.category")
@@ -52,17 +68,127 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t.completed, COUNT(t) FROM Task t GROUP BY t.completed")
     List<Object[]> getTaskCountByStatus();
     
-    // すべてのカテゴリを取得
-    @Query("SELECT DISTINCT t.category FROM Task t WHERE t.category IS NOT NULL ORDER BY t.category")
-    List<String> findAllCategories();
+    // 統計情報の一括集計（カテゴリ×優先度×完了状態ごとの件数と期限切れ件数を1回の走査で取得）
+    @Query("SELECT t.category, t.priority, t.completed, COUNT(t), " +
+           "SUM(CASE WHEN t.completed = false AND t.dueDate < :now THEN 1 ELSE 0 END) " +
+           "FROM Task t GROUP BY t.category, t.priority, t.completed")
+    List<Object[]> aggregateStatistics(@Param("now") LocalDateTime now);
     
     // 複合検索（フィルター機能用）
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
     @Query("SELECT t FROM Task t WHERE " +
            "(:completed IS NULL OR t.completed = :completed) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
            "(:category IS NULL OR t.category = :category) " +
-           "ORDER BY t.completed ASC, t.priority DESC, t.createdAt DESC")
+           "ORDER BY t.completed ASC, t.priority DESC, t.createdAt DESC, t.id DESC")
     List<Task> findByFilters(@Param("completed") Boolean completed,
                            @Param("priority") Task.Priority priority,
                            @Param("category") String category);
-} 
\ No newline at end of file
+    
+    // タグでの絞り込み（タグのインデックスから一致数がminMatches以上のタスクIDを求める。
+    // any: minMatches = 1、all: minMatches = 指定タグ数）
+    // 期限のnull判定はPostgreSQLがパラメーターの型を推論できるようCASTする（findPageByFilters・streamByFiltersも同様）
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Task t WHERE " +
+           "(:completed IS NULL OR t.completed = :completed) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:category IS NULL OR t.category = :category) AND " +
+           "(CAST(:overdueBefore AS LocalDateTime) IS NULL OR (t.dueDate < :overdueBefore AND t.completed = false)) AND " +
+           "t.id IN (SELECT tt.id FROM Task tt JOIN tt.tagSet tag WHERE tag IN :tags " +
+           "         GROUP BY tt.id HAVING COUNT(tag) >= :minMatches) " +
+           "ORDER BY t.completed ASC, t.priority DESC, t.createdAt DESC, t.id DESC")
+    List<Task> findByTags(@Param("completed") Boolean completed,
+                          @Param("priority") Task.Priority priority,
+                          @Param("category") String category,
+                          @Param("overdueBefore") LocalDateTime overdueBefore,
+                          @Param("tags") Collection<String> tags,
+                          @Param("minMatches") long minMatches);
+    
+    // タグ別の件数（件数の多い順）
+    @Query("SELECT tag, COUNT(t) FROM Task t JOIN t.tagSet tag GROUP BY tag ORDER BY COUNT(t) DESC, tag ASC")
+    List<Object[]> getTagCounts();
+    
+    // 複合検索の要約射影（一覧表示用、エンティティを生成しない）
+    @Query("SELECT new com.taskmanager.dto.TaskSummary(t.id, t.title, t.priority, t.completed, t.dueDate, t.category, t.createdAt) " +
+           "FROM Task t WHERE " +
+           "(:completed IS NULL OR t.completed = :completed) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:category IS NULL OR t.category = :category) " +
+           "ORDER BY t.completed ASC, t.priority DESC, t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSummariesByFilters(@Param("completed") Boolean completed,
+                                             @Param("priority") Task.Priority priority,
+                                             @Param("category") String category);
+    
+    // 期限切れタスクの要約射影
+    @Query("SELECT new com.taskmanager.dto.TaskSummary(t.id, t.title, t.priority, t.completed, t.dueDate, t.category, t.createdAt) " +
+           "FROM Task t WHERE t.completed = false AND t.dueDate < :now ORDER BY t.dueDate ASC")
+    List<TaskSummary> findOverdueSummaries(@Param("now") LocalDateTime now);
+    
+    // 期限が:from以降の未完了タスクの要約射影（リマインダーの起動時読み込み用、due_dateのインデックス範囲走査）
+    @Query("SELECT new com.taskmanager.dto.TaskSummary(t.id, t.title, t.priority, t.completed, t.dueDate, t.category, t.createdAt) " +
+           "FROM Task t WHERE t.completed = false AND t.dueDate >= :from")
+    List<TaskSummary> findUpcomingSummaries(@Param("from") LocalDateTime from);
+    
+    // ID指定の要約射影（検索インデックスのヒット取得用）
+    @Query("SELECT new com.taskmanager.dto.TaskSummary(t.id, t.title, t.priority, t.completed, t.dueDate, t.category, t.createdAt) " +
+           "FROM Task t WHERE t.id IN :ids")
+    List<TaskSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // キーセットページング（findByFiltersと同じ並び順にidを加えて一意化、キーワードは検索インデックスのヒットIDで絞り込む）
+    @Query("SELECT t FROM Task t WHERE " +
+           "(:completed IS NULL OR t.completed = :completed) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:category IS NULL OR t.category = :category) AND " +
+           "(CAST(:overdueBefore AS LocalDateTime) IS NULL OR (t.dueDate < :overdueBefore AND t.completed = false)) AND " +
+           "(:filterIds = false OR t.id IN :ids) AND " +
+           "(:afterId IS NULL OR " +
+           " (:afterCompleted = false AND t.completed = true) OR " +
+           " (t.completed = :afterCompleted AND (t.priority < :afterPriority OR " +
+           "  (t.priority = :afterPriority AND (t.createdAt < :afterCreatedAt OR " +
+           "   (t.createdAt = :afterCreatedAt AND t.id < :afterId)))))) " +
+           "ORDER BY t.completed ASC, t.priority DESC, t.createdAt DESC, t.id DESC")
+    List<Task> findPageByFilters(@Param("completed") Boolean completed,
+                                 @Param("priority") Task.Priority priority,
+                                 @Param("category") String category,
+                                 @Param("overdueBefore") LocalDateTime overdueBefore,
+                                 @Param("filterIds") boolean filterIds,
+                                 @Param("ids") Collection<Long> ids,
+                                 @Param("afterCompleted") Boolean afterCompleted,
+                                 @Param("afterPriority") Task.Priority afterPriority,
+                                 @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                 @Param("afterId") Long afterId,
+                                 Pageable pageable);
+    
+    // ストリーミング取得（JDBCカーソルで1行ずつ読み出す）
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE " +
+           "(:completed IS NULL OR t.completed = :completed) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:category IS NULL OR t.category = :category) AND " +
+           "(CAST(:overdueBefore AS LocalDateTime) IS NULL OR (t.dueDate < :overdueBefore AND t.completed = false)) AND " +
+           "(:filterIds = false OR t.id IN :ids) " +
+           "ORDER BY t.completed ASC, t.priority DESC, t.createdAt DESC, t.id DESC")
+    Stream<Task> streamByFilters(@Param("completed") Boolean completed,
+                                 @Param("priority") Task.Priority priority,
+                                 @Param("category") String category,
+                                 @Param("overdueBefore") LocalDateTime overdueBefore,
+                                 @Param("filterIds") boolean filterIds,
+                                 @Param("ids") Collection<Long> ids);
+    
+    // 全件ストリーミング取得（検索インデックスの再構築用）
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t")
+    Stream<Task> streamAll();
+    
+    // 完了状態を1文で反転（読み込みと書き戻しの間に他の更新が割り込んで失われることがない）
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = CASE WHEN t.completed = true THEN false ELSE true END, " +
+           "t.updatedAt = :now, t.version = t.version + 1 WHERE t.id = :id")
+    int toggleCompleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 日本語向けのN-gramトークナイザー
+ * NFKC正規化と小文字化の後、文字・数字の連続を1-gramと2-gramに分割する
+ */
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    /**
+     * インデックス用のトークン列（出現回数を数えるため重複を含む）
+     */
+    public static List<String> indexTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String run : runs(text)) {
+            for (int i = 0; i < run.length(); i = run.offsetByCodePoints(i, 1)) {
+                int next = run.offsetByCodePoints(i, 1);
+                tokens.add(run.substring(i, next));
+                if (next < run.length()) {
+                    tokens.add(run.substring(i, run.offsetByCodePoints(next, 1)));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 検索用のトークン集合
+     * 2文字以上の語は2-gram、1文字の語は1-gramで照合する
+     */
+    public static Set<String> queryTokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String run : runs(text)) {
+            if (run.codePointCount(0, run.length()) == 1) {
+                tokens.add(run);
+                continue;
+            }
+            for (int i = 0; i < run.length(); i = run.offsetByCodePoints(i, 1)) {
+                int next = run.offsetByCodePoints(i, 1);
+                if (next < run.length()) {
+                    tokens.add(run.substring(i, run.offsetByCodePoints(next, 1)));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    // 文字・数字の連続部分を抽出（記号と空白は区切りとして扱う）
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return runs;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        normalized.codePoints().forEach(cp -> {
+            if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else if (current.length() > 0) {
+                runs.add(current.toString());
+                current.setLength(0);
+            }
+        });
+        if (current.length() > 0) {
+            runs.add(current.toString());
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,243 @@
+package com.taskmanager.search;
+
+import com.taskmanager.entity.ArchivedTask;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.repository.ArchivedTaskRepository;
+import com.taskmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * タスクのインメモリ転置インデックス
+ * タイトル・説明・タグをN-gramで索引化し、TF-IDFで順位付けした検索結果を返す。
+ * 書き込みはタスク変更のコミット後に反映し、起動時にデータベースから再構築する。
+ * 退避済みのタスクも索引に含める（退避・復元ではタスクの内容が変わらないため再索引しない）
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    // フィールドごとの重み
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float TAGS_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private final TaskRepository taskRepository;
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 語 → (タスクID → 重み付き出現回数)
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+
+    // タスクID → 語（削除・更新時のポスティング除去用）
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    private volatile boolean built = false;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           ArchivedTaskRepository archivedTaskRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // 作業テーブルと退避テーブルを同じ時点で読み、読み込みの間に移動したタスクを取りこぼさない
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * 検索結果（順位順のタスクIDと総ヒット数）
+     */
+    public static class Hits {
+        private final List<Long> ids;
+        private final int total;
+
+        public Hits(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public int getTotal() { return total; }
+    }
+
+    /**
+     * 起動時にデータベースから再構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureBuilt();
+    }
+
+    /**
+     * インデックスをデータベースから全件再構築
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Task> stream = taskRepository.streamAll()) {
+                    stream.forEach(task -> {
+                        add(TaskSnapshot.of(task));
+                        entityManager.detach(task);
+                    });
+                }
+                try (Stream<ArchivedTask> stream = archivedTaskRepository.streamAll()) {
+                    stream.forEach(archived -> {
+                        add(TaskSnapshot.of(archived.toTask()));
+                        entityManager.detach(archived);
+                    });
+                }
+            });
+            built = true;
+            log.info("検索インデックスを再構築しました: documents={}, terms={}", documentTerms.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * コミット済みの変更を反映（同じタスクの再反映は置き換えになるため冪等）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getTaskId());
+            if (event.getAfter() != null) {
+                add(event.getAfter());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * キーワードに一致するタスクIDをスコア順に取得（全語を含むタスクのみ）
+     */
+    public Hits search(String keyword, int offset, int limit) {
+        ensureBuilt();
+        Set<String> queryTerms = NGramTokenizer.queryTokens(keyword);
+        if (queryTerms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        Map<Long, Float> scores;
+        lock.readLock().lock();
+        try {
+            // 出現文書数の少ない語から積集合を取る
+            List<Map<Long, Float>> lists = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<Long, Float> list = postings.get(term);
+                if (list == null) {
+                    return new Hits(List.of(), 0);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            int documentCount = documentTerms.size();
+            scores = new HashMap<>();
+            for (Map.Entry<Long, Float> entry : lists.get(0).entrySet()) {
+                scores.put(entry.getKey(), 0f);
+            }
+            for (Map<Long, Float> list : lists) {
+                float idf = (float) Math.log(1.0 + (double) documentCount / list.size());
+                scores.entrySet().removeIf(entry -> {
+                    Float weight = list.get(entry.getKey());
+                    if (weight == null) {
+                        return true;
+                    }
+                    entry.setValue(entry.getValue() + weight * idf);
+                    return false;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Float>comparingByKey().reversed()))
+                .map(Map.Entry::getKey)
+                .skip(offset)
+                .limit(limit)
+                .toList();
+        return new Hits(ranked, scores.size());
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    // 呼び出し側で書き込みロックを保持すること
+    private void add(TaskSnapshot task) {
+        Map<String, Float> weights = new HashMap<>();
+        accumulate(weights, task.getTitle(), TITLE_WEIGHT);
+        accumulate(weights, task.getTags(), TAGS_WEIGHT);
+        accumulate(weights, task.getDescription(), DESCRIPTION_WEIGHT);
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(task.getId(), weight));
+        documentTerms.put(task.getId(), weights.keySet());
+    }
+
+    private void accumulate(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String token : NGramTokenizer.indexTokens(text)) {
+            weights.merge(token, fieldWeight, Float::sum);
+        }
+    }
+
+    // 呼び出し側で書き込みロックを保持すること
+    private void remove(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Category;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * カテゴリ辞書サービス
+ * タスクが参照するカテゴリ行を登録し、カテゴリ別の件数をタスクの変更と同じトランザクションで更新する。
+ * 件数の差分はトランザクション内で蓄積し、コミット直前にカテゴリごと1回のUPDATEで反映する
+ */
+@Service
+public class CategoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
+
+    // 一意制約違反のSQLSTATE（H2・PostgreSQL共通）
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final String INSERT_CATEGORY = "INSERT INTO categories (name) VALUES (?)";
+
+    private final CategoryRepository categoryRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 登録済みのカテゴリ名（行は削除しないため、コミット済みと確認した名前は再確認しない）
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loaded = false;
+
+    public CategoryService(CategoryRepository categoryRepository, JdbcTemplate jdbcTemplate) {
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * タスクが参照するカテゴリの行を登録（タスクのフラッシュより前に呼ぶ）
+     */
+    public void ensureExists(String name) {
+        ensureExists(name == null ? List.of() : List.of(name));
+    }
+
+    /**
+     * タスクが参照するカテゴリの行をまとめて登録（タスクのフラッシュより前に呼ぶ）
+     * 呼び出し元と同じトランザクション・接続で挿入し、同時登録による重複はセーブポイントまで戻して無視する。
+     * 同時に登録するトランザクション間でロック順序が揃うよう名前順に挿入する
+     */
+    public void ensureExists(Collection<String> names) {
+        if (!loaded) {
+            known.addAll(categoryRepository.findAllNames());
+            loaded = true;
+        }
+        Set<String> missing = new TreeSet<>();
+        for (String name : names) {
+            if (name != null && !known.contains(name)) {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            for (String name : missing) {
+                insert(connection, name, inTransaction);
+            }
+            return null;
+        });
+        if (inTransaction) {
+            // ロールバックされた場合は行が残らないため、コミット後に登録済みとする
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    known.addAll(missing);
+                }
+            });
+        } else {
+            known.addAll(missing);
+        }
+    }
+
+    private void insert(Connection connection, String name, boolean inTransaction) throws SQLException {
+        // トランザクション内の失敗は全体を中断させるため（PostgreSQL）、セーブポイントまで戻す
+        Savepoint savepoint = inTransaction ? connection.setSavepoint() : null;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_CATEGORY)) {
+            statement.setString(1, name);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            }
+            if (!Objects.equals(e.getSQLState(), UNIQUE_VIOLATION)) {
+                throw e;
+            }
+            log.debug("カテゴリは他のトランザクションで登録済みです: {}", name);
+            return;
+        }
+        if (savepoint != null) {
+            connection.releaseSavepoint(savepoint);
+        }
+    }
+
+    /**
+     * タスクの変更をカテゴリ件数の差分として蓄積（発行元のトランザクション内で同期的に呼ばれる）
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangeEvent event) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        Map<String, long[]> deltas = inTransaction ? pendingDeltas() : new TreeMap<>();
+        accumulate(deltas, event.getBefore(), -1);
+        accumulate(deltas, event.getAfter(), 1);
+        if (!inTransaction) {
+            apply(deltas);
+        }
+    }
+
+    /**
+     * タスクが1件以上あるカテゴリ名（名前順）
+     */
+    @Transactional(readOnly = true)
+    public List<String> getNamesInUse() {
+        return categoryRepository.findNamesInUse();
+    }
+
+    /**
+     * タスクが1件以上あるカテゴリと件数（名前順）
+     */
+    @Transactional(readOnly = true)
+    public List<Category> getCategoryCounts() {
+        return categoryRepository.findAllInUse();
+    }
+
+    // 現在のトランザクションに紐づく差分（初回はコミット直前の反映を登録する）
+    @SuppressWarnings("unchecked")
+    private Map<String, long[]> pendingDeltas() {
+        Map<String, long[]> deltas = (Map<String, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<String, long[]> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CategoryService.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void accumulate(Map<String, long[]> deltas, TaskSnapshot task, int sign) {
+        if (task == null || task.getCategory() == null) {
+            return;
+        }
+        long[] delta = deltas.computeIfAbsent(task.getCategory(), key -> new long[2]);
+        delta[0] += sign;
+        if (!task.isCompleted()) {
+            delta[1] += sign;
+        }
+    }
+
+    // 同時に更新するトランザクション間でロック順序が揃うよう名前順に更新する
+    private void apply(Map<String, long[]> deltas) {
+        deltas.forEach((name, delta) -> {
+            if (delta[0] == 0 && delta[1] == 0) {
+                return;
+            }
+            if (categoryRepository.addCounts(name, delta[0], delta[1]) == 0) {
+                log.warn("件数を更新するカテゴリが見つかりません: {}", name);
+            }
+        });
+    }
+}
@@ -0,0 +1,254 @@
+package com.taskmanager.service;
+
+import com.taskmanager.archive.TaskArchiver;
+import com.taskmanager.dto.BatchItemResult;
+import com.taskmanager.dto.BatchResult;
+import com.taskmanager.dto.TaskBatchUpdateRequest;
+import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * タスク一括操作サービスクラス
+ * 1リクエストを1トランザクションで処理し、JDBCバッチでまとめて書き込む。
+ * 入力不正や存在しないID、バージョンの不一致は該当行の結果として返し、他の行の処理は継続する
+ */
+@Service
+@Transactional
+@Timed(value = "taskmanager.service", histogram = true)
+public class TaskBatchService {
+
+    // 1リクエストあたりの最大件数
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Validator validator;
+
+    private final CategoryService categoryService;
+
+    private final TaskArchiver taskArchiver;
+
+    public TaskBatchService(TaskRepository taskRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            Validator validator,
+                            CategoryService categoryService,
+                            TaskArchiver taskArchiver) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.categoryService = categoryService;
+        this.taskArchiver = taskArchiver;
+    }
+
+    /**
+     * タスクを一括作成
+     */
+    public BatchResult createTasks(List<TaskRequest> requests) {
+        checkSize(requests);
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = BatchItemResult.invalid(i, null, error);
+                continue;
+            }
+            tasks.add(requests.get(i).toEntity());
+            indexes.add(i);
+        }
+
+        List<Task> saved = insertTasks(tasks);
+        for (int j = 0; j < saved.size(); j++) {
+            results[indexes.get(j)] = BatchItemResult.success(indexes.get(j), BatchItemResult.Status.CREATED, saved.get(j));
+        }
+        return new BatchResult(List.of(results));
+    }
+
+    /**
+     * 検証済みのタスクをまとめて作成（IDが設定済みのタスクはそのIDで登録する）
+     */
+    public List<Task> insertTasks(List<Task> tasks) {
+        categoryService.ensureExists(categoriesOf(tasks));
+        List<Task> saved = taskRepository.saveAll(tasks);
+        for (Task task : saved) {
+            eventPublisher.publishEvent(TaskChangeEvent.created(TaskSnapshot.of(task)));
+        }
+        return saved;
+    }
+
+    /**
+     * タスクを一括更新
+     */
+    public BatchResult updateTasks(List<TaskBatchUpdateRequest> requests) {
+        checkSize(requests);
+        Map<Long, Task> tasks = findAllById(requests.stream()
+                .map(TaskBatchUpdateRequest::getId)
+                .toList());
+
+        List<BatchItemResult> results = new ArrayList<>();
+        List<TaskSnapshot> befores = new ArrayList<>();
+        List<TaskSnapshot> afters = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskBatchUpdateRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(BatchItemResult.invalid(i, request.getId(), error));
+                continue;
+            }
+            Task task = tasks.get(request.getId());
+            if (task == null) {
+                results.add(BatchItemResult.notFound(i, request.getId()));
+                continue;
+            }
+            if (request.getVersion() != null && !request.getVersion().equals(task.getVersion())) {
+                results.add(BatchItemResult.conflict(i, request.getId()));
+                continue;
+            }
+            befores.add(TaskSnapshot.of(task));
+            request.updateEntity(task);
+            afters.add(TaskSnapshot.of(task));
+            updated.add(task);
+            results.add(BatchItemResult.success(i, BatchItemResult.Status.UPDATED, task));
+        }
+        categoryService.ensureExists(categoriesOf(updated));
+        publishAfterFlush(befores, afters, updated, TaskChangeEvent::updated);
+        return new BatchResult(results);
+    }
+
+    /**
+     * タスクの完了状態を一括切り替え
+     */
+    public BatchResult toggleTasks(List<Long> ids) {
+        checkSize(ids);
+        Map<Long, Task> tasks = findAllById(ids);
+
+        List<BatchItemResult> results = new ArrayList<>();
+        List<TaskSnapshot> befores = new ArrayList<>();
+        List<TaskSnapshot> afters = new ArrayList<>();
+        List<Task> toggled = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Task task = tasks.get(ids.get(i));
+            if (task == null) {
+                results.add(BatchItemResult.notFound(i, ids.get(i)));
+                continue;
+            }
+            befores.add(TaskSnapshot.of(task));
+            task.setCompleted(!task.isCompleted());
+            afters.add(TaskSnapshot.of(task));
+            toggled.add(task);
+            results.add(BatchItemResult.success(i, BatchItemResult.Status.TOGGLED, task));
+        }
+        publishAfterFlush(befores, afters, toggled, TaskChangeEvent::toggled);
+        return new BatchResult(results);
+    }
+
+    /**
+     * タスクを一括削除
+     */
+    public BatchResult deleteTasks(List<Long> ids) {
+        checkSize(ids);
+        Map<Long, Task> tasks = findAllById(ids);
+
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Task> deleted = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            // 同じIDの重複指定は2件目以降を未検出として扱う
+            Task task = tasks.remove(ids.get(i));
+            if (task == null) {
+                results.add(BatchItemResult.notFound(i, ids.get(i)));
+                continue;
+            }
+            deleted.add(task);
+            results.add(BatchItemResult.deleted(i, task.getId()));
+            eventPublisher.publishEvent(TaskChangeEvent.deleted(TaskSnapshot.of(task)));
+        }
+        taskRepository.deleteAll(deleted);
+        return new BatchResult(results);
+    }
+
+    // 変更をJDBCバッチでまとめて書き込んでからイベントを発行する。
+    // 同じタスクへの最後の変更は加算後のバージョンを含むスナップショットに差し替える
+    private void publishAfterFlush(List<TaskSnapshot> befores, List<TaskSnapshot> afters, List<Task> tasks,
+                                   BiFunction<TaskSnapshot, TaskSnapshot, TaskChangeEvent> factory) {
+        taskRepository.flush();
+        Set<Long> latest = new HashSet<>();
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            if (latest.add(tasks.get(i).getId())) {
+                afters.set(i, TaskSnapshot.of(tasks.get(i)));
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            eventPublisher.publishEvent(factory.apply(befores.get(i), afters.get(i)));
+        }
+    }
+
+    private List<String> categoriesOf(List<Task> tasks) {
+        return tasks.stream().map(Task::getCategory).distinct().toList();
+    }
+
+    // 更新対象のタスクを読み込む（作業テーブルにないものは退避済みであれば戻してから読み込む。
+    // 他のトランザクションが同時に戻したものも読み直しで見える）
+    private Map<Long, Task> findAllById(Collection<Long> ids) {
+        Map<Long, Task> tasks = new HashMap<>();
+        List<Long> nonNullIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        for (Task task : taskRepository.findAllById(nonNullIds)) {
+            tasks.put(task.getId(), task);
+        }
+        if (tasks.size() < nonNullIds.size()) {
+            List<Long> missing = nonNullIds.stream().filter(id -> !tasks.containsKey(id)).toList();
+            taskArchiver.restore(missing);
+            for (Task task : taskRepository.findAllById(missing)) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * 一括操作の件数を検証（0件または上限超過ならIllegalArgumentException）
+     */
+    public static void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("一括操作の対象が指定されていません");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("一括操作は" + MAX_BATCH_SIZE + "件以内で指定してください");
+        }
+    }
+
+    // 入力検証（エラーがなければnull）
+    private String validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
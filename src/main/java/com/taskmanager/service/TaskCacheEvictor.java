@@ -0,0 +1,94 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.CacheConfig;
+import com.taskmanager.event.TaskChangeEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * タスク変更のコミット後に関連キャッシュを無効化
+ * キャッシュキーに世代を含め、コミット後に世代を進める。コミット前に読み始めた読み取りが
+ * 無効化の後に古い値を書き戻しても、その値は古い世代のキーに入るため以降の読み取りからは参照されない
+ */
+@Component
+public class TaskCacheEvictor {
+
+    // タスク詳細の世代の分割数（タスクIDで振り分け、1件の変更で無効になる範囲を抑える）
+    private static final int TASK_GENERATION_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+
+    private final AtomicLongArray taskGenerations = new AtomicLongArray(TASK_GENERATION_STRIPES);
+
+    private final AtomicLong listGeneration = new AtomicLong();
+
+    private final AtomicLong categoryGeneration = new AtomicLong();
+
+    public TaskCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * タスク詳細のキャッシュキー（@Cacheableのkeyから参照）
+     */
+    public Object taskKey(Long id) {
+        return new SimpleKey(id, taskGenerations.get(stripe(id)));
+    }
+
+    /**
+     * タスク一覧のキャッシュキー（@Cacheableのkeyから参照）
+     */
+    public Object listKey(Object filters) {
+        return new SimpleKey(filters, listGeneration.get());
+    }
+
+    /**
+     * カテゴリ一覧のキャッシュキー（@Cacheableのkeyから参照）
+     */
+    public Object categoriesKey() {
+        return new SimpleKey(categoryGeneration.get());
+    }
+
+    // 変更トークン（TaskChangeTracker）の更新より先に無効化する
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangeEvent event) {
+        Object staleKey = taskKey(event.getTaskId());
+        taskGenerations.incrementAndGet(stripe(event.getTaskId()));
+        evict(CacheConfig.TASKS, staleKey);
+        listGeneration.incrementAndGet();
+        clear(CacheConfig.TASK_LISTS);
+
+        // カテゴリが増減し得る変更のときのみカテゴリ一覧を無効化
+        if (event.mayChangeCategories()) {
+            categoryGeneration.incrementAndGet();
+            clear(CacheConfig.CATEGORIES);
+        }
+    }
+
+    private static int stripe(Long id) {
+        return id == null ? 0 : Math.floorMod(Long.hashCode(id), TASK_GENERATION_STRIPES);
+    }
+
+    private void evict(String name, Object key) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangeEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 条件付きGET用の変更トークン
+ * タスク変更のコミットごとにリビジョンを進め、データベースに問い合わせずにETagとLast-Modifiedを返す
+ */
+@Component
+public class TaskChangeTracker {
+
+    // 期限切れ・今日が期限の判定は時刻で変わるため、一覧と統計のトークンはこの単位でも更新する
+    private static final long TIME_BUCKET_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final Clock clock;
+
+    // 起動ごとの識別子（再起動前に発行したETagと一致しないようにする）
+    private final String epoch;
+
+    private final AtomicLong revision = new AtomicLong();
+    private final AtomicLong categoryRevision = new AtomicLong();
+
+    private volatile long lastModified;
+    private volatile long categoriesLastModified;
+
+    public TaskChangeTracker(Clock clock) {
+        this.clock = clock;
+        this.epoch = Long.toString(clock.millis(), 36);
+        this.lastModified = clock.millis();
+        this.categoriesLastModified = this.lastModified;
+    }
+
+    /**
+     * コミット済みの変更でトークンを更新
+     * キャッシュ無効化と統計カウンターの反映より後に実行し、新しいトークンで古い内容を返さないようにする
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangeEvent event) {
+        long now = clock.millis();
+        if (event.mayChangeCategories()) {
+            categoryRevision.incrementAndGet();
+            categoriesLastModified = now;
+        }
+        revision.incrementAndGet();
+        lastModified = now;
+    }
+
+    /**
+     * タスク一覧・統計のETag
+     */
+    public String getCollectionETag() {
+        return weakETag(epoch + "-" + revision.get() + "-" + Long.toString(currentBucket(), 36));
+    }
+
+    /**
+     * タスク一覧・統計の最終更新日時（エポックミリ秒）
+     */
+    public long getCollectionLastModified() {
+        return Math.max(lastModified, currentBucket() * TIME_BUCKET_MILLIS);
+    }
+
+    /**
+     * カテゴリ一覧のETag
+     */
+    public String getCategoriesETag() {
+        return weakETag(epoch + "-c" + categoryRevision.get());
+    }
+
+    /**
+     * カテゴリ一覧の最終更新日時（エポックミリ秒）
+     */
+    public long getCategoriesLastModified() {
+        return categoriesLastModified;
+    }
+
+    /**
+     * タスク詳細のETag（IDとバージョン、時刻で変わる期限の判定結果から生成）
+     */
+    public String getTaskETag(Task task) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return weakETag(task.getId() + "-" + task.getVersion()
+                + (task.isOverdue(now) ? "-o" : "") + (task.isDueToday(now) ? "-t" : ""));
+    }
+
+    /**
+     * タスク詳細の最終更新日時（エポックミリ秒）
+     */
+    public long getTaskLastModified(Task task) {
+        return task.getUpdatedAt().atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private long currentBucket() {
+        return clock.millis() / TIME_BUCKET_MILLIS;
+    }
+
+    // 圧縮や表現形式（JSON / CBOR / Smile）でバイト列が変わっても同じ内容を指すため弱いETagにする。
+    // 強いETagはTomcatのレスポンス圧縮の対象外にもなる
+    private static String weakETag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
@@ -1,30 +1,122 @@
 package com.taskmanager.service;
 
+import com.taskmanager.archive.TaskArchiver;
+import com.taskmanager.config.CacheConfig;
+import com.taskmanager.dto.TaskCursor;
+import com.taskmanager.dto.TaskPage;
+import com.taskmanager.dto.TaskPatchRequest;
+import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.dto.TaskSearchResult;
+import com.taskmanager.dto.TaskSummary;
+import com.taskmanager.entity.ArchivedTask;
 import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.repository.ArchivedTaskRepository;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.search.TaskSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * タスク管理サービスクラス
- * ビジネスロジックとデータアクセスの仲介
+ * ビジネスロジックとデータアクセスの仲介。
+ * 完了済みタスクの一覧・検索は作業テーブルと退避済みのタスクを同じ並び順でまとめて返し
+ * （キーセットページングのみ作業テーブルを読み切った後に退避済みのタスクを返す）、
+ * 未完了・期限切れの絞り込みでは退避テーブルを参照しない
  */
 @Service
 @Transactional
+@Timed(value = "taskmanager.service", histogram = true)
 public class TaskService {
     
+    // ページサイズの既定値と上限
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    // 期限検索で指定できる最大期間
+    public static final Duration MAX_DUE_WITHIN = Duration.ofDays(365);
+    
+    // キーワードのヒットIDを1回のIN句に渡す上限（超える場合はIDを分割して読むか、IN句を使わずに読み出し側で絞り込む）
+    public static final int MAX_SEARCH_HITS = 1000;
+    
+    // IN句を使わずにキーセットページングする場合に1回で読み進める行数
+    private static final int SCAN_CHUNK_SIZE = 500;
+    
+    // 一覧の並び順（ORDER BY completed, priority DESC, created_at DESC, id DESC）。
+    // 優先度はデータベースと同じく列に格納した名前の文字列で比較する
+    private static final Comparator<Task> TASK_ORDER = listOrder(
+            Task::isCompleted, Task::getPriority, Task::getCreatedAt, Task::getId);
+    private static final Comparator<TaskSummary> SUMMARY_ORDER = listOrder(
+            TaskSummary::isCompleted, TaskSummary::getPriority, TaskSummary::getCreatedAt, TaskSummary::getId);
+    
+    // IN句を空にしないためのダミー値
+    private static final List<Long> NO_IDS = List.of(0L);
+    
     private final TaskRepository taskRepository;
     
+    private final ArchivedTaskRepository archivedTaskRepository;
+    
+    private final TaskArchiver taskArchiver;
+    
+    private final TaskStatisticsCounter statisticsCounter;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final TaskSearchIndex searchIndex;
+    
+    private final CategoryService categoryService;
+    
+    private final Clock clock;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository,
+                       ArchivedTaskRepository archivedTaskRepository,
+                       TaskArchiver taskArchiver,
+                       TaskStatisticsCounter statisticsCounter,
+                       ApplicationEventPublisher eventPublisher,
+                       TaskSearchIndex searchIndex,
+                       CategoryService categoryService,
+                       Clock clock) {
         this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskArchiver = taskArchiver;
+        this.statisticsCounter = statisticsCounter;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.categoryService = categoryService;
+        this.clock = clock;
     }
     
     /**
@@ -36,33 +128,74 @@ public class TaskService {
     }
     
     /**
-     * IDでタスクを取得
+     * IDでタスクを取得（作業テーブルにない場合は退避済みのタスクを返す）
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "@taskCacheEvictor.taskKey(#id)", unless = "#result == null")
     public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id);
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isPresent()) {
+            return task;
+        }
+        return archivedTaskRepository.findById(id).map(ArchivedTask::toTask);
     }
     
     /**
      * 新しいタスクを作成
      */
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        categoryService.ensureExists(task.getCategory());
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangeEvent.created(TaskSnapshot.of(saved)));
+        return saved;
     }
     
     /**
      * タスクを更新
      */
-    public Task updateTask(Task task) {
-        return taskRepository.save(task);
+    public Optional<Task> updateTask(Long id, TaskRequest taskRequest) {
+        Optional<Task> taskOpt = findForWrite(id);
+        if (taskOpt.isPresent()) {
+            Task task = taskOpt.get();
+            checkVersion(task, taskRequest.getVersion());
+            TaskSnapshot before = TaskSnapshot.of(task);
+            taskRequest.updateEntity(task);
+            categoryService.ensureExists(task.getCategory());
+            // スナップショットに加算後のバージョンを含めるためフラッシュしてから発行する
+            Task saved = taskRepository.saveAndFlush(task);
+            eventPublisher.publishEvent(TaskChangeEvent.updated(before, TaskSnapshot.of(saved)));
+            return Optional.of(saved);
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * タスクを部分更新（指定された項目の列のみをUPDATEする）
+     */
+    public Optional<Task> patchTask(Long id, TaskPatchRequest patchRequest) {
+        Optional<Task> taskOpt = findForWrite(id);
+        if (taskOpt.isPresent()) {
+            Task task = taskOpt.get();
+            checkVersion(task, patchRequest.getVersion());
+            TaskSnapshot before = TaskSnapshot.of(task);
+            patchRequest.applyTo(task);
+            categoryService.ensureExists(task.getCategory());
+            taskRepository.flush();
+            eventPublisher.publishEvent(TaskChangeEvent.updated(before, TaskSnapshot.of(task)));
+            return Optional.of(task);
+        }
+        return Optional.empty();
     }
     
     /**
      * タスクを削除
      */
     public boolean deleteTask(Long id) {
-        if (taskRepository.existsById(id)) {
-            taskRepository.deleteById(id);
+        Optional<Task> taskOpt = findForWrite(id);
+        if (taskOpt.isPresent()) {
+            TaskSnapshot before = TaskSnapshot.of(taskOpt.get());
+            taskRepository.delete(taskOpt.get());
+            eventPublisher.publishEvent(TaskChangeEvent.deleted(before));
             return true;
         }
         return false;
@@ -72,13 +205,20 @@ public class TaskService {
      * タスクの完了状態を切り替え
      */
     public Optional<Task> toggleTaskCompletion(Long id) {
-        Optional<Task> taskOpt = taskRepository.findById(id);
-        if (taskOpt.isPresent()) {
-            Task task = taskOpt.get();
-            task.setCompleted(!task.isCompleted());
-            return Optional.of(taskRepository.save(task));
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (taskRepository.toggleCompleted(id, now) == 0) {
+            // 退避済みであれば戻してから切り替える（同時に戻した他のトランザクションの結果もここで見える）
+            taskArchiver.restore(List.of(id));
+            if (taskRepository.toggleCompleted(id, now) == 0) {
+                return Optional.empty();
+            }
         }
-        return Optional.empty();
+        Optional<Task> taskOpt = taskRepository.findById(id);
+        taskOpt.ifPresent(task -> {
+            TaskSnapshot after = TaskSnapshot.of(task);
+            eventPublisher.publishEvent(TaskChangeEvent.toggled(after.beforeToggle(), after));
+        });
+        return taskOpt;
     }
     
     /**
@@ -106,42 +246,308 @@ public class TaskService {
     }
     
     /**
-     * キーワードでタスクを検索
+     * キーワードでタスクを検索（関連度の高い順にすべて）
      */
     @Transactional(readOnly = true)
     public List<Task> searchTasks(String keyword) {
-        return taskRepository.findByKeyword(keyword);
+        return findAllInOrder(searchIndex.search(keyword, 0, Integer.MAX_VALUE).getIds());
+    }
+    
+    /**
+     * キーワードでタスクを検索（関連度順のページ取得）
+     */
+    @Transactional(readOnly = true)
+    public TaskSearchResult searchTasks(String keyword, int page, Integer size) {
+        int pageSize = (size == null) ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        // 大きなページ番号でも桁あふれしないようlongで計算する（範囲外は空のページになる）
+        long offset = (long) pageNumber * pageSize;
+        TaskSearchIndex.Hits hits = searchIndex.search(keyword, (int) Math.min(offset, Integer.MAX_VALUE), pageSize);
+        return new TaskSearchResult(findAllInOrder(hits.getIds()), hits.getTotal(), pageNumber, pageSize);
     }
     
     /**
      * フィルター条件でタスクを検索
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, key = "@taskCacheEvictor.listKey({#status, #priority, #category})",
+               condition = "!'overdue'.equals(#status)")
     public List<Task> getTasksByFilters(String status, String priority, String category) {
         // 期限切れフィルターの場合は専用メソッドを使用
         if ("overdue".equals(status)) {
             return getOverdueTasks();
         }
         
-        Boolean completed = null;
-        if ("completed".equals(status)) {
-            completed = true;
-        } else if ("incomplete".equals(status)) {
-            completed = false;
-        }
+        Boolean completed = parseCompleted(status);
+        Task.Priority priorityEnum = parsePriority(priority);
+        String categoryFilter = parseCategory(category);
         
-        Task.Priority priorityEnum = null;
-        if (priority != null && !"all".equals(priority)) {
-            try {
-                priorityEnum = Task.Priority.valueOf(priority.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // 無効な優先度は無視
+        List<Task> tasks = taskRepository.findByFilters(completed, priorityEnum, categoryFilter);
+        if (!includesArchive(status)) {
+            return tasks;
+        }
+        return merge(tasks, archivedTaskRepository.findByFilters(priorityEnum, categoryFilter).stream()
+                .map(ArchivedTask::toTask)
+                .toList(), TASK_ORDER);
+    }
+    
+    /**
+     * タグとフィルター条件でタスクを検索（matchAllがtrueなら指定したすべてのタグを持つタスク）
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getTasksByTags(String tags, boolean matchAll, String status, String priority, String category) {
+        Set<String> tagSet = Task.parseTags(tags);
+        if (tagSet.isEmpty()) {
+            return List.of();
+        }
+        long minMatches = matchAll ? tagSet.size() : 1;
+        List<Task> tasks = taskRepository.findByTags(
+                parseCompleted(status),
+                parsePriority(priority),
+                parseCategory(category),
+                "overdue".equals(status) ? LocalDateTime.now(clock) : null,
+                tagSet,
+                minMatches);
+        if (!includesArchive(status)) {
+            return tasks;
+        }
+        return merge(tasks, archivedTaskRepository.findByTags(
+                        parsePriority(priority), parseCategory(category), tagSet, minMatches).stream()
+                .map(ArchivedTask::toTask)
+                .toList(), TASK_ORDER);
+    }
+    
+    /**
+     * タグ別の件数を取得（件数の多い順、退避済みのタスクを含む）
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getTagCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : taskRepository.getTagCounts()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        for (Object[] row : archivedTaskRepository.getTagCounts()) {
+            counts.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+    
+    /**
+     * 検索・フィルター条件でタスクの要約を取得（一覧表示用の射影）
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummaries(String search, String status, String priority, String category) {
+        List<TaskSummary> summaries = findSummaries(search, status, priority, category);
+        LocalDateTime now = LocalDateTime.now(clock);
+        summaries.forEach(summary -> summary.evaluateOverdue(now));
+        return summaries;
+    }
+    
+    private List<TaskSummary> findSummaries(String search, String status, String priority, String category) {
+        List<Long> hitIds = searchIds(search, Integer.MAX_VALUE);
+        if (hitIds != null) {
+            Map<Long, TaskSummary> byId = new HashMap<>();
+            for (List<Long> ids : chunks(hitIds)) {
+                for (TaskSummary summary : taskRepository.findSummariesByIdIn(ids)) {
+                    byId.put(summary.getId(), summary);
+                }
+                List<Long> missing = missingIds(ids, byId);
+                if (!missing.isEmpty()) {
+                    for (TaskSummary summary : archivedTaskRepository.findSummariesByIdIn(missing)) {
+                        byId.put(summary.getId(), summary);
+                    }
+                }
             }
+            return hitIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        }
+        if ("overdue".equals(status)) {
+            return taskRepository.findOverdueSummaries(LocalDateTime.now(clock));
+        }
+        List<TaskSummary> summaries = taskRepository.findSummariesByFilters(
+                parseCompleted(status), parsePriority(priority), parseCategory(category));
+        if (!includesArchive(status)) {
+            return summaries;
+        }
+        return merge(summaries, archivedTaskRepository.findSummariesByFilters(parsePriority(priority), parseCategory(category)),
+                SUMMARY_ORDER);
+    }
+    
+    /**
+     * フィルター条件でタスクをキーセットページング取得
+     * （作業テーブルの結果を読み切った後のページから退避済みのタスクを返す）
+     */
+    @Transactional(readOnly = true)
+    public TaskPage getTaskPage(String search, String status, String priority, String category,
+                                String cursor, Integer size) {
+        int pageSize = (size == null) ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TaskCursor after = (cursor == null || cursor.isBlank()) ? null : TaskCursor.decode(cursor);
+        List<Long> hitIds = searchIds(search, Integer.MAX_VALUE);
+        if (hitIds != null && hitIds.isEmpty()) {
+            return new TaskPage(List.of(), null, pageSize);
         }
+        // ヒットがIN句の上限を超える場合は、IN句を使わずにキーセットで読み進めてヒットだけを集める
+        boolean filterIds = hitIds != null && hitIds.size() <= MAX_SEARCH_HITS;
+        Set<Long> hitSet = (hitIds != null && !filterIds) ? new HashSet<>(hitIds) : null;
         
-        String categoryFilter = ("all".equals(category)) ? null : category;
+        // 次ページの有無を判定するため1件多く取得
+        List<Task> rows = new ArrayList<>();
+        if (after == null || !after.isArchived()) {
+            rows.addAll(findHotPage(status, priority, category, filterIds ? hitIds : null, hitSet, after, pageSize + 1));
+        }
+        // 作業テーブルで埋まらなかった分を退避済みのタスクの先頭（または前ページの続き）から補う
+        int hotRows = rows.size();
+        if (hotRows <= pageSize && includesArchive(status)) {
+            TaskCursor archiveAfter = (after != null && after.isArchived()) ? after : null;
+            rows.addAll(findArchivedPage(priority, category, filterIds ? hitIds : null, hitSet, archiveAfter,
+                    pageSize + 1 - hotRows));
+        }
         
-        return taskRepository.findByFilters(completed, priorityEnum, categoryFilter);
+        String nextCursor = null;
+        List<Task> page = rows;
+        if (rows.size() > pageSize) {
+            page = rows.subList(0, pageSize);
+            nextCursor = TaskCursor.of(page.get(pageSize - 1), pageSize > hotRows).encode();
+        }
+        return new TaskPage(page, nextCursor, pageSize);
+    }
+    
+    // 作業テーブルのキーセットページ（hitSetを指定した場合はIN句を使わずに読み進め、ヒットだけを最大limit件集める）
+    private List<Task> findHotPage(String status, String priority, String category, List<Long> hitIds,
+                                   Set<Long> hitSet, TaskCursor after, int limit) {
+        Boolean completedFilter = parseCompleted(status);
+        Task.Priority priorityFilter = parsePriority(priority);
+        String categoryFilter = parseCategory(category);
+        LocalDateTime overdueBefore = "overdue".equals(status) ? LocalDateTime.now(clock) : null;
+        Boolean afterCompleted = after != null ? after.isCompleted() : null;
+        Task.Priority afterPriority = after != null ? after.getPriority() : null;
+        LocalDateTime afterCreatedAt = after != null ? after.getCreatedAt() : null;
+        Long afterId = after != null ? after.getId() : null;
+        if (hitSet == null) {
+            return taskRepository.findPageByFilters(completedFilter, priorityFilter, categoryFilter, overdueBefore,
+                    hitIds != null, hitIds != null ? hitIds : NO_IDS,
+                    afterCompleted, afterPriority, afterCreatedAt, afterId, PageRequest.of(0, limit));
+        }
+        List<Task> rows = new ArrayList<>();
+        while (true) {
+            List<Task> chunk = taskRepository.findPageByFilters(completedFilter, priorityFilter, categoryFilter,
+                    overdueBefore, false, NO_IDS, afterCompleted, afterPriority, afterCreatedAt, afterId,
+                    PageRequest.of(0, SCAN_CHUNK_SIZE));
+            for (Task task : chunk) {
+                if (!hitSet.contains(task.getId())) {
+                    entityManager.detach(task);
+                } else if (rows.add(task) && rows.size() == limit) {
+                    return rows;
+                }
+            }
+            if (chunk.size() < SCAN_CHUNK_SIZE) {
+                return rows;
+            }
+            Task last = chunk.get(chunk.size() - 1);
+            afterCompleted = last.isCompleted();
+            afterPriority = last.getPriority();
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+    }
+    
+    // 退避テーブルのキーセットページ（findHotPageと同じく、hitSetを指定した場合はIN句を使わずに読み進める）
+    private List<Task> findArchivedPage(String priority, String category, List<Long> hitIds,
+                                        Set<Long> hitSet, TaskCursor after, int limit) {
+        Task.Priority priorityFilter = parsePriority(priority);
+        String categoryFilter = parseCategory(category);
+        Task.Priority afterPriority = after != null ? after.getPriority() : null;
+        LocalDateTime afterCreatedAt = after != null ? after.getCreatedAt() : null;
+        Long afterId = after != null ? after.getId() : null;
+        List<Task> rows = new ArrayList<>();
+        while (true) {
+            List<ArchivedTask> chunk = archivedTaskRepository.findPageByFilters(priorityFilter, categoryFilter,
+                    hitIds != null, hitIds != null ? hitIds : NO_IDS, afterPriority, afterCreatedAt, afterId,
+                    PageRequest.of(0, hitSet == null ? limit : SCAN_CHUNK_SIZE));
+            for (ArchivedTask archived : chunk) {
+                if (hitSet == null || hitSet.contains(archived.getId())) {
+                    rows.add(archived.toTask());
+                    if (rows.size() == limit) {
+                        return rows;
+                    }
+                }
+                entityManager.detach(archived);
+            }
+            if (hitSet == null || chunk.size() < SCAN_CHUNK_SIZE) {
+                return rows;
+            }
+            ArchivedTask last = chunk.get(chunk.size() - 1);
+            afterPriority = last.getPriority();
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+    }
+    
+    /**
+     * フィルター条件に一致するタスクを1件ずつ処理（結果セット全体を保持しない）。
+     * キーワードのヒットはすべて返し、MAX_SEARCH_HITS件を超える場合はIN句ではなく読み出し側で絞り込む
+     */
+    @Transactional(readOnly = true)
+    public void streamTasks(String search, String status, String priority, String category,
+                            Consumer<Task> consumer) {
+        List<Long> hitIds = searchIds(search, Integer.MAX_VALUE);
+        if (hitIds != null && hitIds.isEmpty()) {
+            return;
+        }
+        boolean filterIds = hitIds != null && hitIds.size() <= MAX_SEARCH_HITS;
+        Set<Long> hitSet = (hitIds != null && !filterIds) ? new HashSet<>(hitIds) : null;
+        // 作業テーブルと退避テーブルのカーソルを並び順どおりに1件ずつ突き合わせる
+        try (Stream<Task> hot = taskRepository.streamByFilters(
+                     parseCompleted(status),
+                     parsePriority(priority),
+                     parseCategory(category),
+                     "overdue".equals(status) ? LocalDateTime.now(clock) : null,
+                     filterIds,
+                     filterIds ? hitIds : NO_IDS);
+             Stream<ArchivedTask> archived = includesArchive(status)
+                     ? archivedTaskRepository.streamByFilters(
+                             parsePriority(priority),
+                             parseCategory(category),
+                             filterIds,
+                             filterIds ? hitIds : NO_IDS)
+                     : Stream.empty()) {
+            Iterator<Task> hotRows = hot.iterator();
+            Iterator<ArchivedTask> archivedRows = archived.iterator();
+            Task nextHot = hotRows.hasNext() ? hotRows.next() : null;
+            Task nextArchived = nextArchived(archivedRows);
+            while (nextHot != null || nextArchived != null) {
+                Task task;
+                if (nextArchived == null || (nextHot != null && TASK_ORDER.compare(nextHot, nextArchived) <= 0)) {
+                    task = nextHot;
+                    nextHot = hotRows.hasNext() ? hotRows.next() : null;
+                } else {
+                    task = nextArchived;
+                    nextArchived = nextArchived(archivedRows);
+                }
+                if (hitSet == null || hitSet.contains(task.getId())) {
+                    consumer.accept(task);
+                }
+                // 永続化コンテキストに溜めない
+                if (entityManager.contains(task)) {
+                    entityManager.detach(task);
+                }
+            }
+        }
+    }
+    
+    // 退避済みのタスクを1件読み出してタスクに変換する（エンティティは永続化コンテキストに溜めない）
+    private Task nextArchived(Iterator<ArchivedTask> rows) {
+        if (!rows.hasNext()) {
+            return null;
+        }
+        ArchivedTask archived = rows.next();
+        Task task = archived.toTask();
+        entityManager.detach(archived);
+        return task;
     }
     
     /**
@@ -149,7 +555,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public List<Task> getOverdueTasks() {
-        return taskRepository.findOverdueTasks(LocalDateTime.now());
+        return taskRepository.findOverdueTasks(LocalDateTime.now(clock));
     }
     
     /**
@@ -157,15 +563,29 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public List<Task> getTasksDueToday() {
-        return taskRepository.findTasksDueToday(LocalDateTime.now());
+        LocalDateTime startOfDay = LocalDate.now(clock).atStartOfDay();
+        return taskRepository.findTasksDueBetween(startOfDay, startOfDay.plusDays(1));
+    }
+    
+    /**
+     * 指定期間内に期限を迎える未完了タスクを取得（期限切れは含まない）
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getTasksDueWithin(Duration within) {
+        if (within.isNegative() || within.isZero() || within.compareTo(MAX_DUE_WITHIN) > 0) {
+            throw new IllegalArgumentException("期間は" + MAX_DUE_WITHIN.toDays() + "日以内の正の値で指定してください");
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        return taskRepository.findTasksDueBetween(now, now.plus(within));
     }
     
     /**
      * すべてのカテゴリを取得
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "@taskCacheEvictor.categoriesKey()")
     public List<String> getAllCategories() {
-        return taskRepository.findAllCategories();
+        return categoryService.getNamesInUse();
     }
     
     /**
@@ -173,17 +593,55 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getTaskStatistics() {
+        long totalTasks = 0;
+        long completedTasks = 0;
+        long overdueTasks = 0;
+        Map<String, Long> categoryStats = new HashMap<>();
+        Map<String, Long> priorityStats = new HashMap<>();
+        
+        if (statisticsCounter.isInitialized()) {
+            // インメモリカウンターから取得（期限切れのみ時刻依存のため件数クエリ）
+            totalTasks = statisticsCounter.getTotal();
+            completedTasks = statisticsCounter.getCompleted();
+            overdueTasks = taskRepository.countOverdueTasks(LocalDateTime.now(clock));
+            categoryStats = statisticsCounter.getCategoryCounts();
+            priorityStats = statisticsCounter.getPriorityCounts();
+        } else {
+            // カウンター初期化前は1回の集計クエリで全統計を取得し、メモリ上で畳み込む
+            for (Object[] row : taskRepository.aggregateStatistics(LocalDateTime.now(clock))) {
+                String category = (String) row[0];
+                Task.Priority priority = (Task.Priority) row[1];
+                boolean completed = (Boolean) row[2];
+                long count = ((Number) row[3]).longValue();
+                long overdue = row[4] != null ? ((Number) row[4]).longValue() : 0;
+                
+                totalTasks += count;
+                if (completed) {
+                    completedTasks += count;
+                }
+                overdueTasks += overdue;
+                categoryStats.merge(category, count, Long::sum);
+                priorityStats.merge(priority.toString(), count, Long::sum);
+            }
+            // 退避済みのタスクはすべて完了済み
+            for (Object[] row : archivedTaskRepository.aggregateStatistics()) {
+                String category = (String) row[0];
+                Task.Priority priority = (Task.Priority) row[1];
+                long count = ((Number) row[2]).longValue();
+                
+                totalTasks += count;
+                completedTasks += count;
+                categoryStats.merge(category, count, Long::sum);
+                priorityStats.merge(priority.toString(), count, Long::sum);
+            }
+        }
+        
         Map<String, Object> stats = new HashMap<>();
         
         // 基本統計
-        long totalTasks = taskRepository.count();
-        long completedTasks = taskRepository.findByCompleted(true).size();
-        long incompleteTasks = taskRepository.findByCompleted(false).size();
-        long overdueTasks = getOverdueTasks().size();
-        
         stats.put("totalTasks", totalTasks);
         stats.put("completedTasks", completedTasks);
-        stats.put("incompleteTasks", incompleteTasks);
+        stats.put("incompleteTasks", totalTasks - completedTasks);
         stats.put("overdueTasks", overdueTasks);
         
         // 完了率
@@ -191,19 +649,9 @@ public class TaskService {
         stats.put("completionRate", Math.round(completionRate * 100.0) / 100.0);
         
         // カテゴリ別統計
-        Map<String, Long> categoryStats = new HashMap<>();
-        List<Object[]> categoryResults = taskRepository.getTaskCountByCategory();
-        for (Object[] result : categoryResults) {
-            categoryStats.put((String) result[0], (Long) result[1]);
-        }
         stats.put("categoryStats", categoryStats);
         
         // 優先度別統計
-        Map<String, Long> priorityStats = new HashMap<>();
-        List<Object[]> priorityResults = taskRepository.getTaskCountByPriority();
-        for (Object[] result : priorityResults) {
-            priorityStats.put(result[0].toString(), (Long) result[1]);
-        }
         stats.put("priorityStats", priorityStats);
         
         return stats;
@@ -216,4 +664,123 @@ public class TaskService {
     public boolean existsById(Long id) {
         return taskRepository.existsById(id);
     }
-} 
\ No newline at end of file
+    
+    // 要求されたバージョンが現在の値と異なる場合は競合とする（省略時は確認しない）
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+    }
+    
+    // 作業テーブルにない場合は退避済みのタスクを戻してから読み込む（更新・削除用）。
+    // 同じタスクを同時に戻そうとした場合は後の方が待った後に戻されたものを読む
+    private Optional<Task> findForWrite(Long id) {
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isEmpty()) {
+            taskArchiver.restore(List.of(id));
+            task = taskRepository.findById(id);
+        }
+        return task;
+    }
+    
+    // 退避済みのタスクは完了済みのため、未完了・期限切れの絞り込みでは退避テーブルを参照しない
+    private boolean includesArchive(String status) {
+        return !"incomplete".equals(status) && !"overdue".equals(status);
+    }
+    
+    // 並び順どおりの作業テーブルと退避テーブルの結果を、同じ並び順の1つのリストにまとめる
+    private static <T> List<T> merge(List<T> hot, List<T> archived, Comparator<? super T> order) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        if (hot.isEmpty()) {
+            return archived;
+        }
+        List<T> result = new ArrayList<>(hot.size() + archived.size());
+        int i = 0;
+        int j = 0;
+        while (i < hot.size() && j < archived.size()) {
+            if (order.compare(hot.get(i), archived.get(j)) <= 0) {
+                result.add(hot.get(i++));
+            } else {
+                result.add(archived.get(j++));
+            }
+        }
+        result.addAll(hot.subList(i, hot.size()));
+        result.addAll(archived.subList(j, archived.size()));
+        return result;
+    }
+    
+    private static <T> Comparator<T> listOrder(Predicate<T> completed, Function<T, Task.Priority> priority,
+                                               Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        return Comparator.<T, Boolean>comparing(completed::test)
+                .thenComparing(item -> priority.apply(item).name(), Comparator.reverseOrder())
+                .thenComparing(createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(id, Comparator.reverseOrder());
+    }
+    
+    private static List<Long> missingIds(List<Long> ids, Map<Long, ?> found) {
+        return ids.stream().filter(id -> !found.containsKey(id)).toList();
+    }
+    
+    // フィルターパラメータの解釈
+    private Boolean parseCompleted(String status) {
+        if ("completed".equals(status)) {
+            return true;
+        } else if ("incomplete".equals(status)) {
+            return false;
+        }
+        return null;
+    }
+    
+    private Task.Priority parsePriority(String priority) {
+        if (priority != null && !"all".equals(priority)) {
+            try {
+                return Task.Priority.valueOf(priority.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // 無効な優先度は無視
+            }
+        }
+        return null;
+    }
+    
+    private String parseCategory(String category) {
+        return ("all".equals(category)) ? null : category;
+    }
+    
+    // 検索インデックスのヒットIDを関連度の高い順に最大limit件（キーワード未指定ならnull）
+    private List<Long> searchIds(String search, int limit) {
+        if (search == null || search.trim().isEmpty()) {
+            return null;
+        }
+        return searchIndex.search(search.trim(), 0, limit).getIds();
+    }
+    
+    // ID順のリストを保ったままタスクを一括取得（IN句はMAX_SEARCH_HITS件ずつに分割する）
+    private List<Task> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Task> byId = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            for (Task task : taskRepository.findAllById(chunk)) {
+                byId.put(task.getId(), task);
+            }
+            List<Long> missing = missingIds(chunk, byId);
+            if (!missing.isEmpty()) {
+                for (ArchivedTask archived : archivedTaskRepository.findAllById(missing)) {
+                    byId.put(archived.getId(), archived.toTask());
+                }
+            }
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_SEARCH_HITS) {
+            chunks.add(ids.subList(from, Math.min(from + MAX_SEARCH_HITS, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,302 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangeEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.repository.ArchivedTaskRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * タスク統計のインメモリカウンター
+ * タスク変更のコミット後に差分を反映し、統計の読み取りを表スキャンなしで返す。
+ * 取りこぼしや競合によるずれは定期的な照合で補正する（退避済みのタスクを含めて数える）。
+ * 変更はコミット前から差分の反映までを読み取りロックの中で行い、照合は集計の読み取り中に
+ * コミットされた変更がなかった場合だけカウンターを置き換える（照合自体がずれを生まないようにする）
+ */
+@Component
+public class TaskStatisticsCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatisticsCounter.class);
+
+    // ConcurrentHashMapはnullキーを扱えないためカテゴリ未設定を表す番兵
+    private static final String NO_CATEGORY = "\u0000";
+
+    // 変更が続いて照合できない場合に、コミットを止めずに読み直す回数
+    private static final int OPTIMISTIC_ATTEMPTS = 3;
+
+    private final TaskRepository taskRepository;
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final Map<String, LongAdder> byCategory = new ConcurrentHashMap<>();
+    private final Map<Task.Priority, LongAdder> byPriority = new EnumMap<>(Task.Priority.class);
+
+    // 変更（コミット前〜差分の反映）は読み取りロック、照合のカウンター置き換えは書き込みロック
+    private final ReentrantReadWriteLock changeLock = new ReentrantReadWriteLock();
+
+    // コミットに入った変更の通し番号（照合の読み取り中に変更がコミットされたかの判定に使う）
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    private volatile boolean initialized = false;
+
+    public TaskStatisticsCounter(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // 件数・状態別・カテゴリ別・優先度別の集計と退避テーブルを同じ時点で読み、集計どうしを食い違わせない
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        for (Task.Priority priority : Task.Priority.values()) {
+            byPriority.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * 変更をコミット後に差分として反映（変更トークンの更新より先に実行する）
+     * コミット前から反映までを読み取りロックで囲み、照合がその間の変更を二重に数えたり打ち消したりしないようにする
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeLock.readLock().lock();
+            try {
+                changeSequence.incrementAndGet();
+                applyDelta(event);
+            } finally {
+                changeLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                changeLock.readLock().lock();
+                locked = true;
+                changeSequence.incrementAndGet();
+            }
+
+            @Override
+            public void afterCommit() {
+                applyDelta(event);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    changeLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void applyDelta(TaskChangeEvent event) {
+        if (event.getBefore() != null) {
+            apply(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            apply(event.getAfter(), 1);
+        }
+    }
+
+    private void apply(TaskSnapshot task, int delta) {
+        total.add(delta);
+        if (task.isCompleted()) {
+            completed.add(delta);
+        }
+        byCategory.computeIfAbsent(categoryKey(task.getCategory()), key -> new LongAdder()).add(delta);
+        byPriority.get(task.getPriority()).add(delta);
+    }
+
+    /**
+     * 起動時の初期化（data.sqlの投入後）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+        initialized = true;
+    }
+
+    /**
+     * データベースの集計値と照合してカウンターを補正
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.stats.reconcile-interval:PT5M}",
+               initialDelayString = "${taskmanager.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long sequence;
+            changeLock.writeLock().lock();
+            try {
+                // コミット中の変更がない時点の通し番号（ここまでの変更はすべてカウンターに反映済み）
+                sequence = changeSequence.get();
+            } finally {
+                changeLock.writeLock().unlock();
+            }
+            Counts counts = transactionTemplate.execute(status -> readCounts());
+            changeLock.writeLock().lock();
+            try {
+                // 読み取りの間にコミットに入った変更がなければ、カウンターと集計は同じ時点の値
+                if (changeSequence.get() == sequence) {
+                    overwrite(counts);
+                    return;
+                }
+            } finally {
+                changeLock.writeLock().unlock();
+            }
+        }
+        // 変更が続く場合は集計の読み取りの間だけコミットを待たせる
+        changeLock.writeLock().lock();
+        try {
+            overwrite(transactionTemplate.execute(status -> readCounts()));
+        } finally {
+            changeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 照合に使うデータベースの集計値
+     */
+    private record Counts(long total, long completed, Map<String, Long> byCategory,
+                          Map<Task.Priority, Long> byPriority) {
+    }
+
+    private Counts readCounts() {
+        Map<String, Long> categoryCounts = new HashMap<>();
+        for (Object[] row : taskRepository.getTaskCountByCategory()) {
+            categoryCounts.put(categoryKey((String) row[0]), (Long) row[1]);
+        }
+        for (Object[] row : archivedTaskRepository.getTaskCountByCategory()) {
+            categoryCounts.merge(categoryKey((String) row[0]), (Long) row[1], Long::sum);
+        }
+        Map<Task.Priority, Long> priorityCounts = new EnumMap<>(Task.Priority.class);
+        for (Object[] row : taskRepository.getTaskCountByPriority()) {
+            priorityCounts.put((Task.Priority) row[0], (Long) row[1]);
+        }
+        for (Object[] row : archivedTaskRepository.getTaskCountByPriority()) {
+            priorityCounts.merge((Task.Priority) row[0], (Long) row[1], Long::sum);
+        }
+        long totalCount = 0;
+        long completedCount = 0;
+        for (Object[] row : taskRepository.getTaskCountByStatus()) {
+            totalCount += (Long) row[1];
+            if ((Boolean) row[0]) {
+                completedCount += (Long) row[1];
+            }
+        }
+        // 退避済みのタスクはすべて完了済み
+        long archivedCount = archivedTaskRepository.count();
+        totalCount += archivedCount;
+        completedCount += archivedCount;
+        return new Counts(totalCount, completedCount, categoryCounts, priorityCounts);
+    }
+
+    // 呼び出し側で書き込みロックを保持すること
+    private void overwrite(Counts counts) {
+        Map<String, Long> categoryCounts = counts.byCategory();
+        Map<Task.Priority, Long> priorityCounts = counts.byPriority();
+        long drift = reset(total, counts.total()) + reset(completed, counts.completed());
+        for (Map.Entry<String, LongAdder> entry : byCategory.entrySet()) {
+            drift += reset(entry.getValue(), categoryCounts.getOrDefault(entry.getKey(), 0L));
+        }
+        for (Map.Entry<String, Long> entry : categoryCounts.entrySet()) {
+            byCategory.computeIfAbsent(entry.getKey(), key -> {
+                LongAdder adder = new LongAdder();
+                adder.add(entry.getValue());
+                return adder;
+            });
+        }
+        for (Map.Entry<Task.Priority, LongAdder> entry : byPriority.entrySet()) {
+            drift += reset(entry.getValue(), priorityCounts.getOrDefault(entry.getKey(), 0L));
+        }
+        // 件数0のカテゴリは削除しない（読み取り時に除外する）
+
+        if (drift != 0 && initialized) {
+            log.info("統計カウンターのずれを補正しました: drift={}", drift);
+        }
+    }
+
+    // 期待値との差分を加算して補正し、補正量の絶対値を返す
+    private long reset(LongAdder adder, long expected) {
+        long diff = expected - adder.sum();
+        if (diff != 0) {
+            adder.add(diff);
+        }
+        return Math.abs(diff);
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? NO_CATEGORY : category;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * カテゴリ別件数（件数0のカテゴリは含まない）
+     */
+    public Map<String, Long> getCategoryCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        byCategory.forEach((key, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                counts.put(NO_CATEGORY.equals(key) ? null : key, count);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * 優先度別件数（キーは表示名）
+     */
+    public Map<String, Long> getPriorityCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        byPriority.forEach((priority, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                counts.put(priority.toString(), count);
+            }
+        });
+        return counts;
+    }
+}
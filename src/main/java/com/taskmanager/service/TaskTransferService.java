@@ -0,0 +1,231 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.dto.BatchItemResult;
+import com.taskmanager.dto.BatchResult;
+import com.taskmanager.dto.ImportResult;
+import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.entity.Task;
+import com.taskmanager.transfer.CsvReader;
+import com.taskmanager.transfer.LineReader;
+import com.taskmanager.transfer.RecordTooLongException;
+import com.taskmanager.transfer.TaskCsv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * タスクのインポート・エクスポートサービス
+ * インポートは入力を1行ずつ読みながら一定件数ごとに一括作成（1トランザクション・JDBCバッチ）し、
+ * エクスポートはカーソルで1件ずつ書き出すため、どちらも全件をメモリに保持しない
+ */
+@Service
+public class TaskTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTransferService.class);
+
+    private final TaskBatchService taskBatchService;
+
+    private final TaskService taskService;
+
+    private final ObjectReader requestReader;
+
+    private final ObjectWriter taskWriter;
+
+    private final int batchSize;
+
+    private final int maxErrors;
+
+    private final int maxLineLength;
+
+    public TaskTransferService(TaskBatchService taskBatchService,
+                               TaskService taskService,
+                               ObjectMapper objectMapper,
+                               @Value("${taskmanager.import.batch-size:500}") int batchSize,
+                               @Value("${taskmanager.import.max-errors:1000}") int maxErrors,
+                               @Value("${taskmanager.import.max-line-length:8192}") int maxLineLength) {
+        if (batchSize < 1 || batchSize > TaskBatchService.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "taskmanager.import.batch-sizeは1〜" + TaskBatchService.MAX_BATCH_SIZE + "で指定してください");
+        }
+        this.taskBatchService = taskBatchService;
+        this.taskService = taskService;
+        this.requestReader = objectMapper.readerFor(TaskRequest.class);
+        this.taskWriter = objectMapper.writerFor(Task.class);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * CSVをインポート（1行目は見出し行。見出し行が不正な場合はIllegalArgumentException）
+     */
+    public ImportResult importCsv(InputStream in, Charset charset) throws IOException {
+        CsvReader reader = new CsvReader(new InputStreamReader(in, charset), maxLineLength);
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("見出し行がありません");
+        }
+        Map<String, Integer> positions = TaskCsv.parseHeader(header);
+
+        Chunk chunk = new Chunk(new ImportResult(maxErrors));
+        while (true) {
+            List<String> record;
+            try {
+                record = reader.readRecord();
+            } catch (RecordTooLongException e) {
+                chunk.result.addError(reader.getRecordLine(), e.getMessage());
+                continue;
+            } catch (IllegalArgumentException e) {
+                chunk.result.addError(reader.getRecordLine(), e.getMessage());
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            try {
+                chunk.add(reader.getRecordLine(), TaskCsv.toRequest(record, positions));
+            } catch (IllegalArgumentException e) {
+                chunk.result.addError(reader.getRecordLine(), e.getMessage());
+            }
+        }
+        chunk.flush();
+        chunk.result.sortErrors();
+        return chunk.result;
+    }
+
+    /**
+     * NDJSON（1行に1タスクのJSON）をインポート
+     */
+    public ImportResult importNdjson(InputStream in) throws IOException {
+        LineReader reader = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxLineLength);
+        Chunk chunk = new Chunk(new ImportResult(maxErrors));
+        while (true) {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (RecordTooLongException e) {
+                chunk.result.addError(reader.getLineNumber(), e.getMessage());
+                continue;
+            }
+            if (line == null) {
+                break;
+            }
+            long lineNumber = reader.getLineNumber();
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunk.add(lineNumber, requestReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                chunk.result.addError(lineNumber, "JSONの形式が不正です: " + e.getOriginalMessage());
+            }
+        }
+        chunk.flush();
+        chunk.result.sortErrors();
+        return chunk.result;
+    }
+
+    /**
+     * 条件に一致するタスクをCSVで書き出す（Excelで文字化けしないようBOMを付ける）
+     */
+    public void exportCsv(OutputStream out, String search, String status, String priority, String category)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        TaskCsv.writeHeader(writer);
+        taskService.streamTasks(search, status, priority, category, task -> {
+            try {
+                TaskCsv.writeRow(writer, task);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * 条件に一致するタスクをNDJSONで書き出す
+     */
+    public void exportNdjson(OutputStream out, String search, String status, String priority, String category) {
+        taskService.streamTasks(search, status, priority, category, task -> {
+            try {
+                out.write(taskWriter.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 一括作成の単位（件数が揃うごとに1トランザクションでコミットする）
+    private class Chunk {
+        private final ImportResult result;
+        private final List<TaskRequest> requests = new ArrayList<>();
+        private final List<Long> lines = new ArrayList<>();
+
+        Chunk(ImportResult result) {
+            this.result = result;
+        }
+
+        void add(long line, TaskRequest request) {
+            // 作成要求の検証では優先度の省略（既定値）とnullを区別しないため、ここで弾いて書き込み時の失敗を防ぐ
+            if (request.getPriority() == null) {
+                result.addError(line, "優先度は必須です");
+                return;
+            }
+            requests.add(request);
+            lines.add(line);
+            if (requests.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (requests.isEmpty()) {
+                return;
+            }
+            try {
+                BatchResult batch = taskBatchService.createTasks(requests);
+                for (BatchItemResult item : batch.getResults()) {
+                    if (item.isSuccess()) {
+                        result.addImported(1);
+                    } else {
+                        result.addError(lines.get(item.getIndex()), item.getError());
+                    }
+                }
+            } catch (DataAccessException | TransactionException e) {
+                // このまとまりはロールバックされるため全行を失敗とし、次のまとまりから続ける
+                log.warn("インポートの書き込みに失敗しました: lines={}-{}", lines.get(0), lines.get(lines.size() - 1), e);
+                for (Long line : lines) {
+                    result.addError(line, "書き込みに失敗しました");
+                }
+            }
+            requests.clear();
+            lines.clear();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.taskmanager.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180形式のCSVを1レコードずつ読み込むリーダー
+ * 引用符で囲まれたフィールド内のカンマ・改行・二重引用符（""）に対応し、先頭のBOMは読み飛ばす
+ * 1レコードの文字数に上限を設け、超えたレコードは読み捨ててRecordTooLongExceptionとする
+ */
+public class CsvReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+
+    private final int maxRecordLength;
+
+    // 次に読む文字の行番号
+    private long line = 1;
+
+    // 直前に読んだレコードの開始行
+    private long recordLine = 0;
+
+    private int pushedBack = NONE;
+
+    private boolean started = false;
+
+    public CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * 次のレコードを読み込む（終端ではnull）
+     * 引用符が閉じられないまま終端に達した場合はIllegalArgumentException、上限の文字数を超えた場合はRecordTooLongException
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        // 上限を超えた後は内容を捨て、レコードの終わりまで読み進める（行番号と次のレコードの位置を保つため）
+        boolean tooLong = false;
+        int recordLength = 0;
+        int fieldLength = 0;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("引用符が閉じられていません");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                fieldLength++;
+                if (!tooLong) {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                if (tooLong) {
+                    throw new RecordTooLongException(maxRecordLength);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                if (!tooLong) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldLength = 0;
+            } else if (c == '"' && fieldLength == 0) {
+                quoted = true;
+            } else {
+                fieldLength++;
+                if (!tooLong) {
+                    field.append((char) c);
+                }
+            }
+            if (!tooLong && ++recordLength > maxRecordLength) {
+                tooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * 直前に読んだレコードの開始行（1始まり）
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 1行ずつ読み込むリーダー（BufferedReader.readLineと同じく\n・\r\n・\rを行末とする）
+ * 1行の文字数に上限を設け、超えた行は改行まで読み捨ててRecordTooLongExceptionとする
+ */
+public class LineReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+
+    private final int maxLineLength;
+
+    // 直前に読んだ行の行番号
+    private long lineNumber = 0;
+
+    private int pushedBack = NONE;
+
+    public LineReader(Reader reader, int maxLineLength) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * 次の行を読み込む（終端ではnull、上限の文字数を超えた場合はRecordTooLongException）
+     */
+    public String readLine() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+        StringBuilder line = new StringBuilder();
+        boolean tooLong = false;
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (!tooLong) {
+                if (line.length() == maxLineLength) {
+                    tooLong = true;
+                    line.setLength(0);
+                } else {
+                    line.append((char) c);
+                }
+            }
+            c = read();
+        }
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+        }
+        if (tooLong) {
+            throw new RecordTooLongException(maxLineLength);
+        }
+        return line.toString();
+    }
+
+    /**
+     * 直前に読んだ行の行番号（1始まり）
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskmanager.transfer;
+
+/**
+ * 1レコードが上限の文字数を超えた場合の例外（レコードは読み捨て済みのため、次のレコードから読み続けられる）
+ */
+public class RecordTooLongException extends IllegalArgumentException {
+
+    public RecordTooLongException(int maxLength) {
+        super("1行の文字数が上限（" + maxLength + "文字）を超えています");
+    }
+}
@@ -0,0 +1,179 @@
+package com.taskmanager.transfer;
+
+import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.entity.Task;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * タスクのCSV表現（列名はJSONのプロパティ名と同じ）
+ * エクスポートした内容はそのままインポートでき、読み取り専用の列（id・作成日時など）は読み込み時に無視する
+ */
+public final class TaskCsv {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "title", "description", "completed", "priority", "category", "tags",
+            "dueDate", "createdAt", "updatedAt", "version");
+
+    private static final Set<String> READ_ONLY_COLUMNS = Set.of("id", "createdAt", "updatedAt", "version");
+
+    // 列名の表記ゆれ（大文字小文字・スネークケース）を吸収した名前 → 列名
+    private static final Map<String, String> COLUMN_NAMES = new HashMap<>();
+
+    static {
+        for (String column : COLUMNS) {
+            COLUMN_NAMES.put(normalize(column), column);
+        }
+    }
+
+    private TaskCsv() {
+    }
+
+    /**
+     * 見出し行を書き込む
+     */
+    public static void writeHeader(Writer out) throws IOException {
+        writeRecord(out, COLUMNS);
+    }
+
+    /**
+     * タスクを1行書き込む
+     */
+    public static void writeRow(Writer out, Task task) throws IOException {
+        writeRecord(out, Arrays.asList(
+                String.valueOf(task.getId()),
+                task.getTitle(),
+                task.getDescription(),
+                String.valueOf(task.isCompleted()),
+                task.getPriority().name(),
+                task.getCategory(),
+                task.getTags(),
+                toString(task.getDueDate()),
+                toString(task.getCreatedAt()),
+                toString(task.getUpdatedAt()),
+                String.valueOf(task.getVersion())));
+    }
+
+    /**
+     * 見出し行から列名 → 位置の対応を作成（未知の列名・重複はIllegalArgumentException）
+     */
+    public static Map<String, Integer> parseHeader(List<String> header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = COLUMN_NAMES.get(normalize(header.get(i)));
+            if (column == null) {
+                throw new IllegalArgumentException("不明な列名です: " + header.get(i));
+            }
+            if (positions.put(column, i) != null) {
+                throw new IllegalArgumentException("列名が重複しています: " + header.get(i));
+            }
+        }
+        if (!positions.containsKey("title")) {
+            throw new IllegalArgumentException("title列は必須です");
+        }
+        return positions;
+    }
+
+    /**
+     * 1行を作成要求に変換（値の形式が不正な場合はIllegalArgumentException）
+     * 空欄は未指定として扱い、優先度・完了状態は既定値、カテゴリ・タグ・期限はなしになる
+     */
+    public static TaskRequest toRequest(List<String> record, Map<String, Integer> positions) {
+        if (record.size() != positions.size()) {
+            throw new IllegalArgumentException("列数が見出し行と一致しません（" + record.size() + "列）");
+        }
+        TaskRequest request = new TaskRequest();
+        for (Map.Entry<String, Integer> entry : positions.entrySet()) {
+            String column = entry.getKey();
+            String value = record.get(entry.getValue());
+            if (READ_ONLY_COLUMNS.contains(column)) {
+                continue;
+            }
+            String text = value.isEmpty() ? null : value;
+            switch (column) {
+                case "title" -> request.setTitle(text);
+                case "description" -> request.setDescription(text);
+                case "category" -> request.setCategory(text);
+                case "tags" -> request.setTags(text);
+                case "completed" -> {
+                    if (text != null) {
+                        request.setCompleted(parseBoolean(text));
+                    }
+                }
+                case "priority" -> {
+                    if (text != null) {
+                        request.setPriority(parsePriority(text));
+                    }
+                }
+                case "dueDate" -> request.setDueDate(text == null ? null : parseDateTime(text));
+                default -> throw new IllegalStateException(column);
+            }
+        }
+        return request;
+    }
+
+    private static boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(text)) {
+            return false;
+        }
+        throw new IllegalArgumentException("completedはtrueまたはfalseで指定してください: " + text);
+    }
+
+    private static Task.Priority parsePriority(String text) {
+        try {
+            return Task.Priority.valueOf(text.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("priorityはHIGH・MEDIUM・LOWのいずれかで指定してください: " + text);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String text) {
+        try {
+            return LocalDateTime.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("dueDateはISO-8601形式（例: 2024-01-31T18:00:00）で指定してください: " + text);
+        }
+    }
+
+    private static String toString(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toString();
+    }
+
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    // カンマ・二重引用符・改行を含む値のみ引用符で囲む（nullは空欄）
+    private static void writeRecord(Writer out, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+        out.write("\r\n");
+    }
+}
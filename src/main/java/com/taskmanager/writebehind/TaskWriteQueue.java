@@ -0,0 +1,571 @@
+package com.taskmanager.writebehind;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.service.TaskBatchService;
+import com.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * タスク変更の書き込みキュー（write-behind）
+ * 作成・完了状態の切り替えをメモリ上の上限付きキューで受け付け、専用の書き込みスレッドが
+ * 一定件数・一定間隔ごとに1トランザクションでまとめて書き込む。同じタスクへの未書き込みの変更は1件にまとめ、
+ * 書き込み前の変更はgetPendingで参照できる（書き込み済みになるまでの読み取りに使う）。
+ * 既存タスクの切り替えは反転として書き込むため、同期の切り替えと重なっても互いの結果を失わない。
+ * 同期の更新・削除の前にflushで同じタスクの未書き込みの変更を書き込む。
+ * 受付はメモリ上のみで永続化を保証しないため、書き込み前にプロセスが異常終了した変更は失われる
+ */
+@Component
+public class TaskWriteQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteQueue.class);
+
+    private final TaskService taskService;
+
+    private final TaskBatchService taskBatchService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final boolean enabled;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final Duration retryBackoff;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition ready = lock.newCondition();
+
+    // 書き込み中の変更が完了した（またはキューに戻された）ことの通知
+    private final Condition finished = lock.newCondition();
+
+    // 未書き込みの変更（タスクIDごとに1件、受付順）
+    private final LinkedHashMap<Long, PendingWrite> pending = new LinkedHashMap<>();
+
+    // 書き込み中の変更（コミットまでの読み取り用）
+    private final Map<Long, PendingWrite> inFlight = new HashMap<>();
+
+    // 事前に確保したIDの範囲 [nextId, idLimit)
+    private long nextId;
+    private long idLimit;
+    private String nextIdSql;
+
+    private volatile boolean running = false;
+
+    private Thread writer;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter dropped;
+
+    /**
+     * 1タスク分の未書き込みの変更
+     * 作成の場合はcreateに作成内容（完了状態の変更も反映済み）、既存タスクの場合はflipに完了状態を反転するか
+     * （切り替えの回数が奇数か）を持つ
+     */
+    private static final class PendingWrite {
+        private final Long id;
+        private final Task create;
+        private final boolean flip;
+
+        private PendingWrite(Long id, Task create, boolean flip) {
+            this.id = id;
+            this.create = create;
+            this.flip = flip;
+        }
+
+        static PendingWrite create(Task task) {
+            return new PendingWrite(task.getId(), task, false);
+        }
+
+        static PendingWrite toggle(Long id) {
+            return new PendingWrite(id, null, true);
+        }
+
+        // 後から受け付けた切り替えを重ねる（作成は作成内容の完了状態を反転する）
+        PendingWrite then(PendingWrite newer) {
+            if (create == null) {
+                return new PendingWrite(id, null, flip != newer.flip);
+            }
+            if (!newer.flip) {
+                return this;
+            }
+            Task task = copyOf(create);
+            task.setCompleted(!task.isCompleted());
+            return create(task);
+        }
+
+        // 既存タスクの現在の状態に重ねる
+        Task applyTo(Task base) {
+            Task task = copyOf(base);
+            if (flip) {
+                task.setCompleted(!task.isCompleted());
+            }
+            return task;
+        }
+    }
+
+    public TaskWriteQueue(TaskService taskService,
+                          TaskBatchService taskBatchService,
+                          PlatformTransactionManager transactionManager,
+                          JdbcTemplate jdbcTemplate,
+                          EntityManagerFactory entityManagerFactory,
+                          MeterRegistry meterRegistry,
+                          @Value("${taskmanager.write-behind.enabled:false}") boolean enabled,
+                          @Value("${taskmanager.write-behind.capacity:10000}") int capacity,
+                          @Value("${taskmanager.write-behind.batch-size:500}") int batchSize,
+                          @Value("${taskmanager.write-behind.linger:PT0.05S}") Duration linger,
+                          @Value("${taskmanager.write-behind.retry-backoff:PT1S}") Duration retryBackoff) {
+        if (batchSize < 1 || batchSize > TaskBatchService.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "taskmanager.write-behind.batch-sizeは1〜" + TaskBatchService.MAX_BATCH_SIZE + "で指定してください");
+        }
+        this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.retryBackoff = retryBackoff;
+        Gauge.builder("taskmanager.writebehind.pending", this, TaskWriteQueue::getPendingCount)
+                .description("書き込みキューの未書き込みのタスク数")
+                .register(meterRegistry);
+        this.accepted = writes(meterRegistry, "accepted");
+        this.rejected = writes(meterRegistry, "rejected");
+        this.written = writes(meterRegistry, "written");
+        this.dropped = writes(meterRegistry, "dropped");
+    }
+
+    private static Counter writes(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("taskmanager.writebehind.writes")
+                .description("書き込みキューの変更数（accepted: 受付、rejected: 満杯で拒否、written: 書き込み済み、dropped: 書き込み失敗で破棄）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 書き込みスレッドを開始（無効の場合は何もしない）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "task-writer");
+        writer.start();
+        log.info("書き込みキューを開始しました: capacity={}, batchSize={}", capacity, batchSize);
+    }
+
+    /**
+     * 受付を止め、未書き込みの変更をすべて書き込んでから終了する
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            ready.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        writer.join();
+        log.info("書き込みキューを停止しました");
+    }
+
+    /**
+     * 非同期の書き込みを受け付けているか（無効・起動前・停止後はfalse）
+     */
+    public boolean isAccepting() {
+        return running;
+    }
+
+    /**
+     * タスクの作成を受け付け、採番済みのIDを設定した作成後の状態を返す
+     * （キューが満杯の場合はWriteQueueFullException）
+     */
+    public Task enqueueCreate(Task task) {
+        Task created = copyOf(task);
+        created.setId(reserveId());
+        created.setVersion(null);
+        lock.lock();
+        try {
+            checkAccepting(created.getId());
+            pending.put(created.getId(), PendingWrite.create(created));
+            signalIfReady();
+        } finally {
+            lock.unlock();
+        }
+        accepted.increment();
+        return copyOf(created);
+    }
+
+    /**
+     * タスクの完了状態の切り替えを受け付け、切り替え後の状態を返す（タスクが存在しない場合は空）
+     * 書き込み時点の完了状態を反転するため、書き込みまでに同期の切り替えがあった場合も両方が反映される
+     */
+    public Optional<Task> enqueueToggle(Long id) {
+        while (true) {
+            // データベースの読み取りはロックの外で行い、その間に同じタスクの変更を受け付けた場合は読み直す
+            Writes seen = findWrites(id);
+            Optional<Task> current = view(id, seen);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            Task task = current.get();
+            lock.lock();
+            try {
+                if (!findWritesLocked(id).equals(seen)) {
+                    continue;
+                }
+                PendingWrite previous = pending.get(id);
+                if (previous == null) {
+                    checkAccepting(id);
+                }
+                // 書き込み中の作成は次の書き込みより前にコミットされるため、切り替えとして受け付ける
+                pending.put(id, previous == null
+                        ? PendingWrite.toggle(id)
+                        : previous.then(PendingWrite.toggle(id)));
+                signalIfReady();
+            } finally {
+                lock.unlock();
+            }
+            accepted.increment();
+            task.setCompleted(!task.isCompleted());
+            return Optional.of(task);
+        }
+    }
+
+    /**
+     * 指定したタスクの未書き込みの変更を呼び出し元のスレッドで書き込む（同期の更新・削除の前に呼ぶ）
+     * 書き込み中の変更はコミットされるまで待つ。一時的な失敗で書き込めなかった場合は変更をキューに戻して例外を投げる
+     */
+    public void flush(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        List<PendingWrite> batch = new ArrayList<>();
+        lock.lock();
+        try {
+            // 複数の呼び出しが互いの書き込みを待たないよう、対象がすべて書き込み中でなくなってからまとめて取り出す
+            while (ids.stream().anyMatch(inFlight::containsKey)) {
+                finished.awaitUninterruptibly();
+            }
+            for (Long id : ids) {
+                PendingWrite write = pending.remove(id);
+                if (write != null) {
+                    inFlight.put(id, write);
+                    batch.add(write);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            List<PendingWrite> failed = write(batch.subList(from, Math.min(from + batchSize, batch.size())));
+            if (!failed.isEmpty()) {
+                List<PendingWrite> unwritten = new ArrayList<>(failed);
+                unwritten.addAll(batch.subList(Math.min(from + batchSize, batch.size()), batch.size()));
+                requeue(unwritten);
+                throw new TransientDataAccessResourceException(
+                        "書き込みキューの変更を書き込めませんでした: writes=" + unwritten.size());
+            }
+        }
+    }
+
+    public void flush(Long id) {
+        flush(List.of(id));
+    }
+
+    /**
+     * 未書き込みの変更を反映したタスク（未書き込みの変更がない場合は空）
+     */
+    public Optional<Task> getPending(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Writes writes = findWrites(id);
+        return writes.isEmpty() ? Optional.empty() : view(id, writes);
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 1タスク分の書き込み中・未書き込みの変更（どちらもない場合は両方null）
+     */
+    private record Writes(PendingWrite inFlight, PendingWrite pending) {
+        boolean isEmpty() {
+            return inFlight == null && pending == null;
+        }
+
+        // 書き込み中の変更に未書き込みの変更を重ねたもの
+        PendingWrite merged() {
+            if (inFlight == null) {
+                return pending;
+            }
+            return pending == null ? inFlight : inFlight.then(pending);
+        }
+    }
+
+    private Writes findWrites(Long id) {
+        lock.lock();
+        try {
+            return findWritesLocked(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 呼び出し側でlockを保持すること
+    private Writes findWritesLocked(Long id) {
+        return new Writes(inFlight.get(id), pending.get(id));
+    }
+
+    // 変更を反映したタスク（既存タスクの変更は現在の内容に反転を重ねる）
+    private Optional<Task> view(Long id, Writes writes) {
+        PendingWrite write = writes.merged();
+        if (write == null) {
+            return taskService.getTaskById(id).map(TaskWriteQueue::copyOf);
+        }
+        if (write.create != null) {
+            return Optional.of(copyOf(write.create));
+        }
+        return taskService.getTaskById(id).map(write::applyTo);
+    }
+
+    // 新しいタスクの受付可否（既に未書き込みの変更があるタスクへの変更は件数が増えないため常に受け付ける）
+    private void checkAccepting(Long id) {
+        if (!running) {
+            throw new IllegalStateException("書き込みキューは停止しています");
+        }
+        if (!pending.containsKey(id) && pending.size() >= capacity) {
+            rejected.increment();
+            throw new WriteQueueFullException();
+        }
+    }
+
+    // 空のキューへの最初の受付と件数が揃った時点で書き込みスレッドを起こす
+    private void signalIfReady() {
+        if (pending.size() == 1 || pending.size() >= batchSize) {
+            ready.signal();
+        }
+    }
+
+    // 書き込みスレッドの本体（停止時は残りをすべて書き込む）
+    private void runWriter() {
+        while (true) {
+            List<PendingWrite> batch = takeBatch();
+            if (batch == null) {
+                return;
+            }
+            List<PendingWrite> failed = write(batch);
+            if (failed.isEmpty()) {
+                continue;
+            }
+            if (!running) {
+                log.error("停止中に書き込めなかった変更を破棄しました: writes={}", failed.size() + getPendingCount());
+                return;
+            }
+            // 接続障害などの一時的な失敗は戻して間隔をあけて再試行する
+            requeue(failed);
+            try {
+                Thread.sleep(retryBackoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 次に書き込む変更を取り出す（停止済みかつ未書き込みの変更がなければnull）
+    private List<PendingWrite> takeBatch() {
+        lock.lock();
+        try {
+            while (pending.isEmpty() && running) {
+                ready.awaitUninterruptibly();
+            }
+            if (pending.isEmpty()) {
+                return null;
+            }
+            // 件数が揃うまで少し待ってまとめる
+            long remaining = lingerNanos;
+            while (pending.size() < batchSize && running && remaining > 0) {
+                remaining = ready.awaitNanos(remaining);
+            }
+            List<PendingWrite> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            Iterator<PendingWrite> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                PendingWrite write = iterator.next();
+                iterator.remove();
+                inFlight.put(write.id, write);
+                batch.add(write);
+            }
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // まとめて1トランザクションで書き込み、一時的な失敗で書き込めなかった変更を返す
+    private List<PendingWrite> write(List<PendingWrite> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+            written.increment(batch.size());
+            finish(batch);
+            return List.of();
+        } catch (TransientDataAccessException | DataAccessResourceFailureException
+                 | CannotCreateTransactionException e) {
+            log.warn("書き込みキューの書き込みに失敗しました: writes={}", batch.size(), e);
+            return batch;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("書き込みキューの変更を書き込めないため破棄しました: id={}", batch.get(0).id, e);
+                dropped.increment();
+                finish(batch);
+                return List.of();
+            }
+            // 書き込めない変更を特定するため1件ずつ書き込み直す
+            log.warn("書き込みキューの一括書き込みに失敗したため1件ずつ書き込みます: writes={}", batch.size(), e);
+            for (int i = 0; i < batch.size(); i++) {
+                if (!write(List.of(batch.get(i))).isEmpty()) {
+                    return new ArrayList<>(batch.subList(i, batch.size()));
+                }
+            }
+            return List.of();
+        }
+    }
+
+    private void apply(List<PendingWrite> batch) {
+        List<Task> creates = new ArrayList<>();
+        List<Long> toggles = new ArrayList<>();
+        for (PendingWrite write : batch) {
+            if (write.create != null) {
+                creates.add(copyOf(write.create));
+            } else if (write.flip) {
+                // 切り替えを偶数回受け付けたタスクは書き込まない
+                toggles.add(write.id);
+            }
+        }
+        if (!creates.isEmpty()) {
+            taskBatchService.insertTasks(creates);
+        }
+        if (!toggles.isEmpty()) {
+            taskBatchService.toggleTasks(toggles);
+        }
+    }
+
+    private void finish(List<PendingWrite> batch) {
+        lock.lock();
+        try {
+            for (PendingWrite write : batch) {
+                inFlight.remove(write.id, write);
+            }
+            finished.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 書き込めなかった変更をキューの先頭に戻す（書き込み中に受け付けた同じタスクの変更はその上に重ねる）
+    private void requeue(List<PendingWrite> batch) {
+        lock.lock();
+        try {
+            LinkedHashMap<Long, PendingWrite> merged = new LinkedHashMap<>();
+            for (PendingWrite write : batch) {
+                PendingWrite newer = pending.remove(write.id);
+                merged.put(write.id, newer == null ? write : write.then(newer));
+                inFlight.remove(write.id, write);
+            }
+            merged.putAll(pending);
+            pending.clear();
+            pending.putAll(merged);
+            finished.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // シーケンスから確保した範囲のIDを順に使う（pooled-loのためHibernateの採番と範囲が重ならない）
+    private synchronized long reserveId() {
+        if (nextId >= idLimit) {
+            if (nextIdSql == null) {
+                nextIdSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                        .getJdbcServices().getDialect().getSequenceSupport()
+                        .getSequenceNextValString(Task.ID_SEQUENCE);
+            }
+            Long value = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(nextIdSql, Long.class));
+            nextId = value;
+            idLimit = value + Task.ID_ALLOCATION_SIZE;
+        }
+        return nextId++;
+    }
+
+    // 呼び出し元に返す・書き込みに使うための複製（キャッシュ上のインスタンスや受付済みの内容を変更しない）
+    private static Task copyOf(Task source) {
+        Task task = new Task(source.getTitle(), source.getDescription(), source.getPriority(),
+                source.getCategory(), source.getTags(), source.getDueDate());
+        task.setId(source.getId());
+        task.setCompleted(source.isCompleted());
+        task.setCreatedAt(source.getCreatedAt());
+        task.setUpdatedAt(source.getUpdatedAt());
+        task.setVersion(source.getVersion());
+        return task;
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskmanager.writebehind;
+
+/**
+ * 書き込みキューが満杯で変更を受け付けられない場合の例外（クライアントには429を返す）
+ */
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException() {
+        super("書き込みキューが満杯です");
+    }
+}
@@ -0,0 +1,51 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 既存タスクのtags列をtask_tagsへ移行
+ * 正規化はTask.parseTagsと同じ規則（NFKC正規化・前後の空白除去・小文字化）で行う
+ */
+public class V5__Backfill_task_tags extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement select = context.getConnection().createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, tags FROM tasks WHERE tags IS NOT NULL");
+             PreparedStatement insert = context.getConnection().prepareStatement(
+                     "INSERT INTO task_tags (task_id, tag) VALUES (?, ?)")) {
+            int pending = 0;
+            while (rows.next()) {
+                for (String tag : parse(rows.getString("tags"))) {
+                    insert.setLong(1, rows.getLong("id"));
+                    insert.setString(2, tag);
+                    insert.addBatch();
+                    if (++pending % 500 == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static Set<String> parse(String tags) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String tag : tags.split(",")) {
+            String normalized = Normalizer.normalize(tag, Normalizer.Form.NFKC).trim().toLowerCase(Locale.ROOT);
+            if (!normalized.isEmpty()) {
+                result.add(normalized);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+-- タスクテーブル
+CREATE TABLE tasks (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(200)  NOT NULL,
+    description VARCHAR(1000),
+    completed   BOOLEAN       NOT NULL DEFAULT FALSE,
+    priority    VARCHAR(10)   NOT NULL,
+    category    VARCHAR(100),
+    tags        VARCHAR(500),
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)  NOT NULL,
+    due_date    TIMESTAMP(6),
+    CONSTRAINT pk_tasks PRIMARY KEY (id)
+);
+
+-- タスクID採番用シーケンス（Task.idのallocationSizeと一致させる）
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
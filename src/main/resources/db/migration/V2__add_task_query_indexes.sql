@@ -0,0 +1,13 @@
+-- TaskRepositoryのアクセスパスに対応するインデックス
+
+-- 一覧の並び順（findByFilters / findPageByFilters / streamByFilters / findByCompleted）
+CREATE INDEX idx_tasks_list_order ON tasks (completed, priority DESC, created_at DESC, id DESC);
+
+-- 優先度での絞り込み・集計（findByPriority / getTaskCountByPriority）
+CREATE INDEX idx_tasks_priority ON tasks (priority);
+
+-- カテゴリでの絞り込み・集計・一覧（findByCategory / getTaskCountByCategory / findAllCategories）
+CREATE INDEX idx_tasks_category ON tasks (category, completed);
+
+-- 期限での絞り込み（findOverdueTasks / findTasksDueToday / countOverdueTasks）
+CREATE INDEX idx_tasks_completed_due_date ON tasks (completed, due_date);
@@ -0,0 +1,2 @@
+-- 楽観ロック用のバージョン列（更新のたびに加算し、競合した更新を検出する）
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
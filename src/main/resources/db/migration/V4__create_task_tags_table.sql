@@ -0,0 +1,10 @@
+-- 正規化したタグ（tasks.tagsのカンマ区切り文字列を1タグ1行に分解したもの）
+CREATE TABLE task_tags (
+    task_id BIGINT       NOT NULL,
+    tag     VARCHAR(500) NOT NULL,
+    CONSTRAINT pk_task_tags PRIMARY KEY (task_id, tag),
+    CONSTRAINT fk_task_tags_task FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE
+);
+
+-- タグでの絞り込み・集計（findByTags / getTagCounts）
+CREATE INDEX idx_task_tags_tag ON task_tags (tag, task_id);
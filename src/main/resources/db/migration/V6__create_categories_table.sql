@@ -0,0 +1,17 @@
+-- カテゴリ辞書（タスクの書き込みと同じトランザクションで件数を更新する集計表）
+CREATE TABLE categories (
+    name            VARCHAR(100) NOT NULL,
+    task_count      BIGINT       DEFAULT 0 NOT NULL,
+    open_task_count BIGINT       DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (name)
+);
+
+-- 既存のタスクから件数を集計して投入
+INSERT INTO categories (name, task_count, open_task_count)
+SELECT category, COUNT(*), SUM(CASE WHEN completed THEN 0 ELSE 1 END)
+FROM tasks
+WHERE category IS NOT NULL
+GROUP BY category;
+
+-- タスクのカテゴリは辞書を参照する（idx_tasks_category が外部キーのインデックスを兼ねる）
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_category FOREIGN KEY (category) REFERENCES categories (name);
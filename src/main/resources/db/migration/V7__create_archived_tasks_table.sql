@@ -0,0 +1,35 @@
+-- 完了から一定期間が経過したタスクの退避先（TaskArchiverがtasksから移す。退避済みのタスクはすべて完了済み）
+CREATE TABLE archived_tasks (
+    id          BIGINT        NOT NULL,
+    title       VARCHAR(200)  NOT NULL,
+    description VARCHAR(1000),
+    priority    VARCHAR(10)   NOT NULL,
+    category    VARCHAR(100),
+    tags        VARCHAR(500),
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)  NOT NULL,
+    due_date    TIMESTAMP(6),
+    version     BIGINT        NOT NULL,
+    archived_at TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_archived_tasks PRIMARY KEY (id),
+    CONSTRAINT fk_archived_tasks_category FOREIGN KEY (category) REFERENCES categories (name)
+);
+
+-- 一覧の並び順（ArchivedTaskRepository.findByFilters / findPageByFilters / streamByFilters）
+CREATE INDEX idx_archived_tasks_list_order ON archived_tasks (priority DESC, created_at DESC, id DESC);
+
+-- カテゴリでの絞り込み・集計
+CREATE INDEX idx_archived_tasks_category ON archived_tasks (category);
+
+-- 退避済みタスクの正規化したタグ（task_tagsと同じ構成）
+CREATE TABLE archived_task_tags (
+    task_id BIGINT       NOT NULL,
+    tag     VARCHAR(500) NOT NULL,
+    CONSTRAINT pk_archived_task_tags PRIMARY KEY (task_id, tag),
+    CONSTRAINT fk_archived_task_tags_task FOREIGN KEY (task_id) REFERENCES archived_tasks (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_archived_task_tags_tag ON archived_task_tags (tag, task_id);
+
+-- 退避対象の検索（完了済みで最終更新から一定期間が経過したタスク、ArchivedTaskRepository.lockArchivable）
+CREATE INDEX idx_tasks_completed_updated_at ON tasks (completed, updated_at);
@@ -33,6 +33,7 @@ document.addEventListener('DOMContentLoaded', async () => {
     await loadCategories();
     setupEventListeners();
     setDefaultDueDateTime(); // 期限日のデフォルト値を設定
+    connectChangeFeed();
 });
 
 // イベントリスナーの設定
@@ -145,9 +146,7 @@ async function handleTaskSubmit(e) {
             showNotification('タスクが作成されました', 'success');
             taskForm.reset();
             setDefaultDueDateTime(); // フォームリセット後にデフォルト値を再設定
-            await loadTasks();
-            await loadStatistics();
-            await loadCategories();
+            await refreshAfterChange();
         } else {
             throw new Error('タスクの作成に失敗しました');
         }
@@ -185,9 +184,7 @@ async function handleEditSubmit(e) {
         if (response.ok) {
             showNotification('タスクが更新されました', 'success');
             closeModal();
-            await loadTasks();
-            await loadStatistics();
-            await loadCategories();
+            await refreshAfterChange();
         } else {
             throw new Error('タスクの更新に失敗しました');
         }
@@ -264,6 +261,94 @@ async function loadCategories() {
     }
 }
 
+// 変更後の再読み込み（変更フィードの接続中は差分が届くため不要）
+async function refreshAfterChange() {
+    if (feedConnected) return;
+    await loadTasks();
+    await loadStatistics();
+    await loadCategories();
+}
+
+// 変更フィード（Server-Sent Events）の購読
+let feedConnected = false;
+let feedOpenedBefore = false;
+
+function connectChangeFeed() {
+    if (!window.EventSource) return;
+    const feed = new EventSource(`${API_TASKS}/events`);
+    feed.addEventListener('ready', () => {
+        // 再接続時は切断中の変更を受け取れていないため全体を再取得
+        if (feedOpenedBefore) {
+            reloadAll();
+        }
+        feedOpenedBefore = true;
+        feedConnected = true;
+    });
+    feed.addEventListener('tasks', (e) => applyChanges(JSON.parse(e.data)));
+    feed.addEventListener('resync', () => reloadAll());
+    feed.addEventListener('reminder', (e) => {
+        const reminder = JSON.parse(e.data);
+        if (reminder.type === 'OVERDUE') {
+            showNotification(`期限を過ぎました: ${reminder.title}`, 'error');
+            // 期限切れの表示と件数を更新
+            reloadTasksLater();
+            reloadSummaryLater();
+        } else {
+            showNotification(`期限が近づいています: ${reminder.title}`, 'info');
+        }
+    });
+    // 切断中は操作後に再読み込みする（EventSourceが自動的に再接続する）
+    feed.onerror = () => {
+        feedConnected = false;
+    };
+}
+
+const reloadTasksLater = debounce(loadTasks, 300);
+const reloadSummaryLater = debounce(() => {
+    loadStatistics();
+    loadCategories();
+}, 300);
+
+function reloadAll() {
+    loadTasks();
+    loadStatistics();
+    loadCategories();
+}
+
+// 受信した変更を表示中の一覧へ反映（統計・カテゴリは条件付き取得で再取得）
+function applyChanges(changes) {
+    reloadSummaryLater();
+    // 検索結果（関連度順）と期限切れ（期限順）はサーバーの並び順を再現できないため再取得
+    if (currentFilters.search || currentFilters.status === 'overdue') {
+        reloadTasksLater();
+        return;
+    }
+    changes.forEach(change => {
+        tasks = tasks.filter(task => task.id !== change.id);
+        if (change.type !== 'DELETED' && matchesFilters(change.task)) {
+            tasks.push(change.task);
+        }
+    });
+    tasks.sort(compareTasks);
+    renderTasks();
+}
+
+function matchesFilters(task) {
+    if (currentFilters.status === 'completed' && !task.completed) return false;
+    if (currentFilters.status === 'incomplete' && task.completed) return false;
+    if (currentFilters.priority !== 'all' && task.priority !== currentFilters.priority) return false;
+    if (currentFilters.category !== 'all' && task.category !== currentFilters.category) return false;
+    return true;
+}
+
+// サーバーの一覧と同じ並び順（完了状態、優先度の降順、作成日時の降順、IDの降順）
+function compareTasks(a, b) {
+    if (a.completed !== b.completed) return a.completed ? 1 : -1;
+    if (a.priority !== b.priority) return a.priority < b.priority ? 1 : -1;
+    if (a.createdAt !== b.createdAt) return a.createdAt < b.createdAt ? 1 : -1;
+    return b.id - a.id;
+}
+
 // タスクの表示
 function renderTasks() {
     tasksListElement.innerHTML = '';
@@ -359,8 +444,7 @@ async function toggleTaskCompletion(taskId) {
         if (response.ok) {
             const updatedTask = await response.json();
             showNotification(`タスクを${updatedTask.completed ? '完了' : '未完了'}にしました`, 'success');
-            await loadTasks();
-            await loadStatistics();
+            await refreshAfterChange();
         } else {
             throw new Error('タスクの更新に失敗しました');
         }
@@ -414,9 +498,7 @@ async function deleteTask(taskId) {
         
         if (response.ok) {
             showNotification('タスクが削除されました', 'success');
-            await loadTasks();
-            await loadStatistics();
-            await loadCategories();
+            await refreshAfterChange();
         } else {
             throw new Error('タスクの削除に失敗しました');
         }
@@ -0,0 +1,135 @@
+package com.taskmanager.metrics;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SQL発行数の予算の確認
+ * タスク一覧を読んだ後にタスクごとのクエリを発行する（N+1）と、予算を超えた時点で失敗することを検証する
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryBudgetTest {
+
+    private static final int TASK_COUNT = 5;
+
+    private static final String CATEGORY = "予算テスト";
+
+    @TestConfiguration
+    static class QueryCounterConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer queryCounterCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+        }
+    }
+
+    /**
+     * 予算を指定したハンドラー（インターセプターがアノテーションから予算を読む）
+     */
+    static class BudgetedHandler {
+
+        @QueryBudget(3)
+        public void listTasksWithTags() {
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final QueryCountInterceptor interceptor = new QueryCountInterceptor(new SimpleMeterRegistry(), true, 20);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void insertTasks() throws NoSuchMethodException {
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES (?)", CATEGORY);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            taskRepository.save(new Task("タスク" + i, null, Task.Priority.MEDIUM, CATEGORY, "会議,資料", null));
+        }
+        taskRepository.flush();
+        entityManager.clear();
+        handler = new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("listTasksWithTags"));
+    }
+
+    @AfterEach
+    void stopCounting() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void nPlusOneExceedsBudget() {
+        interceptor.preHandle(request, response, handler);
+
+        // 一覧の取得後、タスクごとにタグを読みに行く（タスク数+1回のSQL）
+        assertThatThrownBy(() -> {
+            for (Task task : taskRepository.findByFilters(false, null, CATEGORY)) {
+                entityManager.createQuery("SELECT tag FROM Task t JOIN t.tagSet tag WHERE t.id = :id", String.class)
+                        .setParameter("id", task.getId())
+                        .getResultList();
+            }
+        }).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("予算を超えました").hasMessageContaining("budget=3");
+    }
+
+    @Test
+    void batchedFetchStaysWithinBudget() {
+        interceptor.preHandle(request, response, handler);
+
+        // タグをまとめて読めば一覧の件数によらず2回で済む
+        List<Long> ids = taskRepository.findByFilters(false, null, CATEGORY).stream().map(Task::getId).toList();
+        List<String> tags = entityManager.createQuery(
+                        "SELECT tag FROM Task t JOIN t.tagSet tag WHERE t.id IN :ids", String.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        assertThat(tags).hasSize(TASK_COUNT * 2);
+
+        interceptor.afterCompletion(request, response, handler, null);
+        assertThat(QueryCounter.stop()).isNull();
+    }
+
+    @Test
+    void countsWithoutEnforcing() {
+        QueryCountInterceptor counting = new QueryCountInterceptor(new SimpleMeterRegistry(), false, 1);
+        counting.preHandle(request, response, handler);
+
+        List<Long> ids = taskRepository.findByFilters(false, null, CATEGORY).stream().map(Task::getId).toList();
+        entityManager.clear();
+        ids.forEach(taskRepository::findById);
+
+        QueryCounter.Scope scope = QueryCounter.stop();
+        assertThat(scope.getBudget()).isZero();
+        assertThat(scope.getCount()).isEqualTo(TASK_COUNT + 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * postgresプロファイルのスモークテスト
+ * 組み込みPostgreSQLに対してFlywayのマイグレーションとエンティティの検証（ddl-auto: validate）を通し、
+ * 期限のnull判定をCASTしているクエリがnullと値のどちらでも実行できることを確認する
+ */
+@DataJpaTest
+@ActiveProfiles("postgres")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PostgresProfileSmokeTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Task overdue;
+
+    private Task upcoming;
+
+    @BeforeEach
+    void insertTasks() {
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES (?)", "仕事");
+        LocalDateTime now = LocalDateTime.now();
+        overdue = taskRepository.save(new Task("期限切れ", null, Task.Priority.HIGH, "仕事", "会議,資料", now.minusDays(1)));
+        upcoming = taskRepository.save(new Task("期限前", null, Task.Priority.LOW, "仕事", "会議", now.plusDays(1)));
+        taskRepository.flush();
+    }
+
+    @Test
+    void migrationsMatchEntities() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE NOT success", Long.class)).isZero();
+        assertThat(taskRepository.findByFilters(false, Task.Priority.HIGH, "仕事"))
+                .extracting(Task::getId).containsExactly(overdue.getId());
+    }
+
+    @Test
+    void findByTagsBindsNullAndOverdueBefore() {
+        assertThat(taskRepository.findByTags(null, null, null, null, Set.of("会議"), 1))
+                .extracting(Task::getId).containsExactlyInAnyOrder(overdue.getId(), upcoming.getId());
+        assertThat(taskRepository.findByTags(false, null, "仕事", LocalDateTime.now(), Set.of("会議", "資料"), 2))
+                .extracting(Task::getId).containsExactly(overdue.getId());
+    }
+
+    @Test
+    void findPageByFiltersBindsNullAndCursor() {
+        List<Task> first = taskRepository.findPageByFilters(null, null, null, null, false, List.of(-1L),
+                null, null, null, null, PageRequest.of(0, 1));
+        assertThat(first).hasSize(1);
+
+        Task last = first.get(0);
+        List<Task> next = taskRepository.findPageByFilters(null, null, null, null, true,
+                List.of(overdue.getId(), upcoming.getId()),
+                last.isCompleted(), last.getPriority(), last.getCreatedAt(), last.getId(), PageRequest.of(0, 10));
+        assertThat(next).extracting(Task::getId).doesNotContain(last.getId()).hasSize(1);
+
+        assertThat(taskRepository.findPageByFilters(null, null, null, LocalDateTime.now(), false, List.of(-1L),
+                null, null, null, null, PageRequest.of(0, 10)))
+                .extracting(Task::getId).containsExactly(overdue.getId());
+    }
+
+    @Test
+    void streamByFiltersBindsNullAndOverdueBefore() {
+        try (Stream<Task> stream = taskRepository.streamByFilters(null, null, null, null, false, List.of(-1L))) {
+            assertThat(stream).hasSize(2);
+        }
+        try (Stream<Task> stream = taskRepository.streamByFilters(
+                false, null, null, LocalDateTime.now(), true, List.of(overdue.getId(), upcoming.getId()))) {
+            assertThat(stream).extracting(Task::getId).containsExactly(overdue.getId());
+        }
+    }
+}
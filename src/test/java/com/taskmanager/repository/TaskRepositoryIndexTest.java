@@ -0,0 +1,135 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * リポジトリのクエリがV2・V4・V7のインデックスを使うことの確認
+ * Hibernateが発行したSQLをそのままEXPLAINし、実行計画にインデックス名が含まれることを検証する
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryIndexTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearStatements() {
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void findByFiltersUsesListOrderIndex() {
+        taskRepository.findByFilters(false, null, null);
+        assertThat(explainLast(false)).contains("IDX_TASKS_LIST_ORDER");
+    }
+
+    @Test
+    void findByCompletedUsesCompletedIndex() {
+        // completedを先頭に持つインデックスはどちらも使える（並び順の指定がないためプランナーが選ぶ）
+        taskRepository.findByCompleted(true);
+        assertThat(explainLast(true)).containsAnyOf("IDX_TASKS_LIST_ORDER", "IDX_TASKS_COMPLETED_DUE_DATE");
+    }
+
+    @Test
+    void findByPriorityUsesPriorityIndex() {
+        taskRepository.findByPriority(Task.Priority.HIGH);
+        assertThat(explainLast(Task.Priority.HIGH.name())).contains("IDX_TASKS_PRIORITY");
+    }
+
+    @Test
+    void findByCategoryUsesCategoryIndex() {
+        // H2は外部キー（V6）に専用のインデックスを作るため、同じ先頭列のそちらが選ばれることがある
+        taskRepository.findByCategory("仕事");
+        assertThat(explainLast("仕事")).containsAnyOf("IDX_TASKS_CATEGORY", "FK_TASKS_CATEGORY_INDEX")
+                .contains("CATEGORY = ?1");
+    }
+
+    @Test
+    void findOverdueTasksUsesDueDateIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.findOverdueTasks(now);
+        assertThat(explainLast(now)).contains("IDX_TASKS_COMPLETED_DUE_DATE");
+    }
+
+    @Test
+    void findTasksDueBetweenUsesDueDateIndex() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(1);
+        taskRepository.findTasksDueBetween(from, to);
+        assertThat(explainLast(from, to)).contains("IDX_TASKS_COMPLETED_DUE_DATE");
+    }
+
+    @Test
+    void findPageByFiltersUsesListOrderIndex() {
+        taskRepository.findPageByFilters(false, null, null, null, false, List.of(-1L),
+                null, null, null, null, PageRequest.of(0, 10));
+        // パラメーターはSQL中の出現順（条件ごとのnull判定と比較で2回ずつ、末尾はOFFSETとFETCH FIRST）
+        assertThat(explainLast(false, false, null, null, null, null, null, null, false, -1L,
+                null, null, null, null, null, null, null, null, 0, 10)).contains("IDX_TASKS_LIST_ORDER");
+    }
+
+    @Test
+    void findByTagsUsesTagIndex() {
+        taskRepository.findByTags(null, null, null, null, Set.of("会議"), 1);
+        assertThat(explainLast(null, null, null, null, null, null, null, null, "会議", 1L))
+                .contains("IDX_TASK_TAGS_TAG");
+    }
+
+    @Test
+    void lockArchivableUsesCompletedUpdatedAtIndex() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        archivedTaskRepository.lockArchivable(cutoff, 10);
+        assertThat(explainLast(cutoff, 10)).contains("IDX_TASKS_COMPLETED_UPDATED_AT");
+    }
+
+    /**
+     * 直前に発行されたSQLを同じパラメーターでEXPLAINし、実行計画を返す
+     */
+    private String explainLast(Object... args) {
+        assertThat(STATEMENTS).isNotEmpty();
+        String sql = STATEMENTS.get(STATEMENTS.size() - 1);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+        return plan.toUpperCase();
+    }
+}